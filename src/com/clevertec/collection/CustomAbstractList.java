@@ -5,6 +5,8 @@ import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Custom abstract list implementation of {@link List} interface
@@ -21,6 +23,12 @@ public abstract class CustomAbstractList<E> implements List<E> {
      */
     protected int size;
 
+    /**
+     * Number of times list has been structurally modified, i.e. its size changed or elements reordered.
+     * Used by views of list to detect modifications made not through them.
+     */
+    protected transient int modCount = 0;
+
     /**
      * Initializes size for empty list.
      */
@@ -40,9 +48,41 @@ public abstract class CustomAbstractList<E> implements List<E> {
     }
 
     /**
-     * Iterator over list implementing {@link Iterator} interface.
+     * Returns reusable cursor over elements in list, see {@link ListCursor}.
+     * Cursor supports {@code remove} on the same terms as {@link #iterator()}.
+     *
+     * @return cursor positioned before the first element of list
+     */
+    public ListCursor<E> cursor() {
+        return new Itr();
+    }
+
+    /**
+     * Performs specified action for each element of list together with its index, in order of index.
+     * Default implementation accesses elements by {@link #get(int)}, subclasses traverse their storage directly.
+     *
+     * @param action action to be performed for each element and its index
+     * @throws NullPointerException            if specified action is null
+     * @throws ConcurrentModificationException if list is structurally modified by action
      */
-    private class Itr implements Iterator<E> {
+    public void forEachIndexed(ObjIntConsumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        final int expectedModCount = modCount;
+        final int end = size;
+        for (int i = 0; i < end && modCount == expectedModCount; i++) {
+            action.accept(get(i), i);
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Iterator over list implementing {@link ListCursor} interface.
+     */
+    private class Itr implements ListCursor<E> {
         /**
          * Index of element to be returned by subsequent call to next.
          */
@@ -104,6 +144,14 @@ public abstract class CustomAbstractList<E> implements List<E> {
                 throw new ConcurrentModificationException();
             }
         }
+
+        /**
+         * Rewinds iterator to the first element of list.
+         */
+        public void reset() {
+            cursor = 0;
+            lastReturned = -1;
+        }
     }
 
     /**
@@ -145,4 +193,13 @@ public abstract class CustomAbstractList<E> implements List<E> {
         }
     }
 
+    /**
+     * Checks whether specified index is valid position to insert element, i.e. in range from 0 to list size.
+     */
+    protected void checkPositionIndex(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Position index = " + index + ", list size = " + size);
+        }
+    }
+
 }
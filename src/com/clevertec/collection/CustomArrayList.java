@@ -1,16 +1,26 @@
 package com.clevertec.collection;
 
+import com.clevertec.collection.metrics.ListMetrics;
+
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Objects;
 import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Custom resizable-array implementation of {@link List} interface.
@@ -31,12 +41,34 @@ public class CustomArrayList<E> extends CustomAbstractList<E> implements List<E>
      */
     private static final int INCREASING_ARRAY_SIZE_MULTIPLAYER = 2;
 
+    /**
+     * Minimum size of list (and of range processed by single task) for parallel bulk operations
+     * to split elements across {@link ForkJoinPool#commonPool()}.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * Maximum capacity preallocated from exact size of stream.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Maximum capacity preallocated from size hint of unsized stream, 4 MB of compressed references.
+     */
+    private static final int MAX_HINTED_CAPACITY = 1 << 20;
+
     /**
      * Array buffer into which elements of list are stored.
      * Capacity of list is length of array buffer.
      */
     private E[] elementData;
 
+    /**
+     * Hash index of numbers of element occurrences, {@code null} unless indexed lookup mode is on.
+     * Positions are not indexed since they shift on every removal.
+     */
+    private transient ElementCounts lookupIndex;
+
     /**
      * Constructs empty list with initial capacity.
      */
@@ -45,6 +77,47 @@ public class CustomArrayList<E> extends CustomAbstractList<E> implements List<E>
         elementData = initArray();
     }
 
+    /**
+     * Constructs empty list with specified initial capacity.
+     *
+     * @param initialCapacity initial capacity of list
+     * @throws IllegalArgumentException if initial capacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    public CustomArrayList(int initialCapacity) {
+        super();
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        elementData = (E[]) new Object[Math.max(initialCapacity, 1)];
+    }
+
+    /**
+     * Returns list containing elements of specified stream in encounter order.
+     * Elements are appended straight from stream without intermediate collection, array buffer is
+     * allocated once for exact size of {@link Spliterator#SIZED} stream. Size hint of unsized stream
+     * is trusted only up to {@value #MAX_HINTED_CAPACITY} elements, so wrong hint cannot allocate huge
+     * buffer before any element is read; buffer grows as usual beyond it.
+     *
+     * @param stream   stream of elements, consumed by this method
+     * @param sizeHint expected number of elements, negative if unknown
+     * @param <E>      type of list elements
+     * @return list containing elements of stream
+     * @throws NullPointerException if specified stream is null
+     */
+    public static <E> CustomArrayList<E> fromStream(Stream<? extends E> stream, long sizeHint) {
+        final Spliterator<? extends E> spliterator = stream.spliterator();
+        final long exactSize = spliterator.getExactSizeIfKnown();
+        final long expectedSize = exactSize >= 0 ? exactSize : Math.min(sizeHint, MAX_HINTED_CAPACITY);
+
+        CustomArrayList<E> list = expectedSize > 0
+                ? new CustomArrayList<>((int) Math.min(expectedSize, MAX_CAPACITY))
+                : new CustomArrayList<>();
+        spliterator.forEachRemaining(list::add);
+
+        return list;
+    }
+
     /**
      * Add element to list.
      * Increases current capacity of list, make it double if size equals length of elements array.
@@ -58,10 +131,43 @@ public class CustomArrayList<E> extends CustomAbstractList<E> implements List<E>
             grow();
         }
         elementData[size++] = element;
+        modCount++;
+
+        if (lookupIndex != null) {
+            lookupIndex.add(element);
+        }
 
         return true;
     }
 
+    /**
+     * Inserts element at specified position in list, shifting subsequent elements to the right.
+     *
+     * @param index   index at which element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException if index is negative or greater than size of list
+     *                                   ({@code index < 0 || index > size()})
+     */
+    @Override
+    public void add(int index, E element) {
+        checkPositionIndex(index);
+
+        if (size == elementData.length) {
+            grow();
+        }
+        System.arraycopy(elementData, index, elementData, index + 1, size - index);
+        if (ListMetrics.ENABLED) {
+            ListMetrics.shift(this, size - index);
+        }
+        elementData[index] = element;
+        size++;
+        modCount++;
+
+        if (lookupIndex != null) {
+            lookupIndex.add(element);
+        }
+    }
+
     /**
      * Returns element at specified position in list.
      *
@@ -77,6 +183,30 @@ public class CustomArrayList<E> extends CustomAbstractList<E> implements List<E>
         return elementData[index];
     }
 
+    /**
+     * Replaces element at specified position in list with specified element.
+     *
+     * @param index   index of element to replace
+     * @param element element to be stored at specified position
+     * @return element previously at specified position
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    @Override
+    public E set(int index, E element) {
+        checkElementIndex(index);
+
+        E oldElement = elementData[index];
+        elementData[index] = element;
+
+        if (lookupIndex != null) {
+            lookupIndex.remove(oldElement);
+            lookupIndex.add(element);
+        }
+
+        return oldElement;
+    }
+
     /**
      * Removes element from list and returns removed element on specific index.
      * Reduces size of internal array after removal of element.
@@ -92,9 +222,13 @@ public class CustomArrayList<E> extends CustomAbstractList<E> implements List<E>
         E removedElement = elementData[index];
 
         size--;
+        modCount++;
 
         if (size > 0) {
             System.arraycopy(elementData, index + 1, elementData, index, size - index);
+            if (ListMetrics.ENABLED) {
+                ListMetrics.shift(this, size - index);
+            }
 //            for (int i = index; i < size; i++) {
 //                elementData[i] = elementData[i + 1];
 //            }
@@ -102,6 +236,10 @@ public class CustomArrayList<E> extends CustomAbstractList<E> implements List<E>
             elementData = initArray();
         }
 
+        if (lookupIndex != null) {
+            lookupIndex.remove(removedElement);
+        }
+
         return removedElement;
     }
 
@@ -113,6 +251,10 @@ public class CustomArrayList<E> extends CustomAbstractList<E> implements List<E>
      */
     @Override
     public boolean remove(Object element) {
+        if (lookupIndex != null && !lookupIndex.contains(element)) {
+            return false;
+        }
+
         Integer elementIndex = null;
 
         if (element == null) {
@@ -133,12 +275,20 @@ public class CustomArrayList<E> extends CustomAbstractList<E> implements List<E>
 
         if (elementIndex != null) {
             size--;
+            modCount++;
             if (size > 0) {
                 System.arraycopy(elementData, elementIndex + 1, elementData, elementIndex, size - elementIndex);
+                if (ListMetrics.ENABLED) {
+                    ListMetrics.shift(this, size - elementIndex);
+                }
             } else {
                 elementData = initArray();
             }
 
+            if (lookupIndex != null) {
+                lookupIndex.remove(element);
+            }
+
             return true;
         }
 
@@ -153,9 +303,456 @@ public class CustomArrayList<E> extends CustomAbstractList<E> implements List<E>
      */
     @Override
     public String toString() {
-        return IntStream.range(0, size)
-                .mapToObj(i -> String.valueOf(elementData[i]))
-                .collect(Collectors.joining(", ", "[", "]"));
+        StringBuilder builder = new StringBuilder();
+        builder.append('[');
+
+        final E[] elements = elementData;
+        for (int i = 0, end = size; i < end; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(elements[i]);
+        }
+
+        builder.append(']');
+
+        return builder.toString();
+    }
+
+    /**
+     * Removes all elements satisfying specified predicate in single pass.
+     * Predicate is evaluated for all elements first and marked positions are stored in bitset,
+     * so list is left unchanged if predicate throws. Survived elements are compacted afterwards.
+     *
+     * @param filter predicate returning {@code true} for elements to be removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if specified filter is null
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+
+        final int end = size;
+        final long[] removed = new long[(end + Long.SIZE - 1) >>> 6];
+        int removedCount = 0;
+
+        for (int i = 0; i < end; i++) {
+            if (filter.test(elementData[i])) {
+                removed[i >>> 6] |= 1L << i;
+                removedCount++;
+            }
+        }
+
+        if (removedCount == 0) {
+            return false;
+        }
+
+        int survived = 0;
+        for (int i = 0; i < end; i++) {
+            if ((removed[i >>> 6] & (1L << i)) == 0) {
+                elementData[survived++] = elementData[i];
+            } else if (lookupIndex != null) {
+                lookupIndex.remove(elementData[i]);
+            }
+        }
+        Arrays.fill(elementData, survived, end, null);
+        size = survived;
+        modCount++;
+
+        return true;
+    }
+
+    /**
+     * Removes all elements contained in specified collection in single pass.
+     *
+     * @param c collection containing elements to be removed from list
+     * @return {@code true} if list changed as a result of the call
+     * @throws NullPointerException if specified collection is null
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+
+        return removeIf(c::contains);
+    }
+
+    /**
+     * Retains only elements contained in specified collection in single pass.
+     *
+     * @param c collection containing elements to be retained in list
+     * @return {@code true} if list changed as a result of the call
+     * @throws NullPointerException if specified collection is null
+     */
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+
+        return removeIf(element -> !c.contains(element));
+    }
+
+    /**
+     * Replaces each element with result of applying operator to it directly in array buffer.
+     *
+     * @param operator operator to apply to each element
+     * @throws NullPointerException if specified operator is null
+     */
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator);
+
+        final E[] elements = elementData;
+        for (int i = 0, end = size; i < end; i++) {
+            elements[i] = operator.apply(elements[i]);
+        }
+        modCount++;
+
+        rebuildLookupIndex();
+    }
+
+    /**
+     * Performs action for each element in order of index. Iterates array buffer directly
+     * without creating iterator and without bounds check of each index.
+     *
+     * @param action action to be performed for each element
+     * @throws NullPointerException            if specified action is null
+     * @throws ConcurrentModificationException if list is structurally modified by action
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        final int expectedModCount = modCount;
+        final E[] elements = elementData;
+        for (int i = 0, end = size; i < end && modCount == expectedModCount; i++) {
+            action.accept(elements[i]);
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Performs action for each element together with its index, in order of index.
+     * Iterates array buffer directly without bounds check of each index.
+     *
+     * @param action action to be performed for each element and its index
+     * @throws NullPointerException            if specified action is null
+     * @throws ConcurrentModificationException if list is structurally modified by action
+     */
+    @Override
+    public void forEachIndexed(ObjIntConsumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        final int expectedModCount = modCount;
+        final E[] elements = elementData;
+        for (int i = 0, end = size; i < end && modCount == expectedModCount; i++) {
+            action.accept(elements[i], i);
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Performs action for each element, splitting list across common fork/join pool
+     * if its size exceeds parallel threshold. Elements are processed in no particular order,
+     * so action must be safe for concurrent use.
+     *
+     * @param action action to be performed for each element
+     * @throws NullPointerException if specified action is null
+     */
+    public void parallelForEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        final E[] elements = elementData;
+        invokeInParallel((from, to) -> {
+            for (int i = from; i < to; i++) {
+                action.accept(elements[i]);
+            }
+        });
+    }
+
+    /**
+     * Replaces each element with result of applying operator to it, splitting list
+     * across common fork/join pool if its size exceeds parallel threshold.
+     * Operator must be safe for concurrent use.
+     *
+     * @param operator operator to apply to each element
+     * @throws NullPointerException if specified operator is null
+     */
+    public void parallelReplaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator);
+
+        final E[] elements = elementData;
+        invokeInParallel((from, to) -> {
+            for (int i = from; i < to; i++) {
+                elements[i] = operator.apply(elements[i]);
+            }
+        });
+        modCount++;
+
+        rebuildLookupIndex();
+    }
+
+    /**
+     * Sorts list according to order induced by specified comparator directly in array buffer.
+     * Uses stable TimSort of {@link Arrays#sort(Object[], int, int, Comparator)},
+     * large lists are sorted in parallel by {@link #parallelSort(Comparator)}.
+     *
+     * @param c comparator to compare elements, {@code null} means natural ordering
+     * @throws ClassCastException if list contains elements that are not mutually comparable
+     */
+    @Override
+    public void sort(Comparator<? super E> c) {
+        if (size > PARALLEL_THRESHOLD) {
+            parallelSort(c);
+        } else {
+            Arrays.sort(elementData, 0, size, c);
+            modCount++;
+        }
+    }
+
+    /**
+     * Sorts list according to order induced by specified comparator using
+     * {@link Arrays#parallelSort(Object[], int, int, Comparator)} over array buffer,
+     * which merges sorted chunks in common fork/join pool.
+     *
+     * @param c comparator to compare elements, {@code null} means natural ordering
+     * @throws ClassCastException if list contains elements that are not mutually comparable
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void parallelSort(Comparator<? super E> c) {
+        Comparator<? super E> comparator = c == null ? (Comparator) Comparator.naturalOrder() : c;
+        Arrays.parallelSort(elementData, 0, size, comparator);
+        modCount++;
+    }
+
+    /**
+     * Applies action to range of array buffer indices {@code [0, size)},
+     * in current thread for small lists or in common fork/join pool otherwise.
+     */
+    private void invokeInParallel(RangeAction action) {
+        if (size <= PARALLEL_THRESHOLD) {
+            action.apply(0, size);
+        } else {
+            ForkJoinPool.commonPool().invoke(new RangeTask(action, 0, size));
+        }
+    }
+
+    /**
+     * Action applied to range of array buffer indices.
+     */
+    @FunctionalInterface
+    private interface RangeAction {
+
+        /**
+         * Applies action to indices from {@code from}, inclusive, to {@code to}, exclusive.
+         */
+        void apply(int from, int to);
+    }
+
+    /**
+     * Fork/join task splitting range of indices in halves until it is small enough to process directly.
+     */
+    private static class RangeTask extends RecursiveAction {
+
+        private final RangeAction action;
+
+        private final int from;
+
+        private final int to;
+
+        RangeTask(RangeAction action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                action.apply(from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RangeTask(action, from, middle), new RangeTask(action, middle, to));
+            }
+        }
+    }
+
+    /**
+     * Turns indexed lookup mode on or off. In indexed mode list maintains hash index of element
+     * occurrences, so {@link #contains(Object)} takes constant expected time and absent element
+     * is rejected by {@link #indexOf(Object)} and {@link #remove(Object)} without scan,
+     * at the cost of {@link ElementCounts#estimatedBytes()} of memory.
+     * Turning mode on builds index from current elements in linear time.
+     *
+     * @param indexed {@code true} to maintain index, {@code false} to drop it
+     */
+    public void setIndexed(boolean indexed) {
+        if (!indexed) {
+            lookupIndex = null;
+        } else if (lookupIndex == null) {
+            lookupIndex = new ElementCounts();
+            rebuildLookupIndex();
+        }
+    }
+
+    /**
+     * Returns {@code true} if indexed lookup mode is on.
+     *
+     * @return {@code true} if list maintains hash index of elements
+     */
+    public boolean isIndexed() {
+        return lookupIndex != null;
+    }
+
+    /**
+     * Returns estimated number of bytes occupied by hash index, 0 unless indexed lookup mode is on.
+     *
+     * @return estimated footprint of index in bytes
+     */
+    public long indexBytes() {
+        return lookupIndex != null ? lookupIndex.estimatedBytes() : 0;
+    }
+
+    /**
+     * Returns immutable exactly-sized copy of list made by single array copy.
+     * Subsequent modifications of this list do not affect returned list.
+     *
+     * @return frozen copy of list
+     */
+    public FrozenList<E> freeze() {
+        return FrozenList.copyOf(elementData, size);
+    }
+
+    /**
+     * Returns estimated memory footprint of list computed from capacity of array buffer.
+     * Unused tail of array buffer is reported as wasted.
+     *
+     * @return footprint of list
+     */
+    public MemoryStats footprint() {
+        final int capacity = elementData.length;
+
+        return new MemoryStats(
+                MemoryStats.instanceBytes(getClass()) + MemoryStats.arrayBytes(capacity, MemoryStats.REFERENCE_BYTES),
+                indexBytes(), size, capacity, (long) (capacity - size) * MemoryStats.REFERENCE_BYTES);
+    }
+
+    /**
+     * Registers all current elements in hash index if indexed lookup mode is on.
+     */
+    private void rebuildLookupIndex() {
+        if (lookupIndex != null) {
+            lookupIndex.clear();
+            for (int i = 0; i < size; i++) {
+                lookupIndex.add(elementData[i]);
+            }
+        }
+    }
+
+    /**
+     * Appends all elements of specified collection in order they are returned by its {@code toArray}.
+     *
+     * @param c collection containing elements to be added to list
+     * @return {@code true} if list changed as a result of the call
+     * @throws NullPointerException if specified collection is null
+     * @see #addAll(int, Collection)
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return addAll(size, c);
+    }
+
+    /**
+     * Inserts all elements of specified collection at specified position, shifting subsequent
+     * elements to the right. Array buffer is resized at most once and elements are copied by
+     * {@link System#arraycopy}; array buffer of another {@code CustomArrayList} is copied directly
+     * without intermediate {@code toArray} copy.
+     *
+     * @param index index at which to insert the first element from specified collection
+     * @param c     collection containing elements to be added to list
+     * @return {@code true} if list changed as a result of the call
+     * @throws IndexOutOfBoundsException if index is negative or greater than size of list
+     *                                   ({@code index < 0 || index > size()})
+     * @throws NullPointerException      if specified collection is null
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        checkPositionIndex(index);
+
+        final Object[] source;
+        final int sourceSize;
+        if (c instanceof CustomArrayList && c != this) {
+            CustomArrayList<?> other = (CustomArrayList<?>) c;
+            source = other.elementData;
+            sourceSize = other.size;
+        } else {
+            source = c.toArray();
+            sourceSize = source.length;
+        }
+
+        return insertArray(index, source, 0, sourceSize);
+    }
+
+    /**
+     * Appends {@code length} elements of specified array starting from {@code offset}
+     * with single capacity check and one array copy, without wrapping array into collection.
+     *
+     * @param batch  array containing elements to be added to list
+     * @param offset index of the first element of array to add
+     * @param length number of elements to add
+     * @throws NullPointerException      if specified array is null
+     * @throws IndexOutOfBoundsException if range is out of bounds of array
+     */
+    public void addBatch(E[] batch, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, batch.length);
+
+        insertArray(size, batch, offset, length);
+    }
+
+    /**
+     * Inserts {@code sourceSize} elements of array starting from {@code offset} at valid position index,
+     * resizing array buffer at most once. Used by collectors to append accumulated chunks.
+     */
+    boolean insertArray(int index, Object[] source, int offset, int sourceSize) {
+        if (sourceSize == 0) {
+            return false;
+        }
+
+        ensureCapacity(size + sourceSize);
+        System.arraycopy(elementData, index, elementData, index + sourceSize, size - index);
+        if (ListMetrics.ENABLED) {
+            ListMetrics.shift(this, size - index);
+        }
+        System.arraycopy(source, offset, elementData, index, sourceSize);
+        size += sourceSize;
+        modCount++;
+
+        if (lookupIndex != null) {
+            for (int i = index; i < index + sourceSize; i++) {
+                lookupIndex.add(elementData[i]);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Increases capacity of list instance, if necessary, with single copy of array
+     * to hold at least specified number of elements.
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required list capacity is too large");
+        }
+
+        if (minCapacity > elementData.length) {
+            int newIncreasedCapacity = Math.max(elementData.length * INCREASING_ARRAY_SIZE_MULTIPLAYER, minCapacity);
+            resize(newIncreasedCapacity);
+        }
     }
 
     /**
@@ -163,7 +760,21 @@ public class CustomArrayList<E> extends CustomAbstractList<E> implements List<E>
      */
     private void grow() {
         int newIncreasedCapacity = elementData.length * INCREASING_ARRAY_SIZE_MULTIPLAYER;
-        elementData = Arrays.copyOf(elementData, newIncreasedCapacity);
+        resize(newIncreasedCapacity);
+    }
+
+    /**
+     * Reallocates array buffer with specified capacity, reporting resize to instrumentation if it is enabled.
+     */
+    private void resize(int newCapacity) {
+        final long start = ListMetrics.ENABLED ? ListMetrics.beginResize(this) : 0L;
+        final int oldCapacity = elementData.length;
+        elementData = Arrays.copyOf(elementData, newCapacity);
+
+        if (ListMetrics.ENABLED) {
+            ListMetrics.resize(this, size, oldCapacity, newCapacity,
+                    (long) oldCapacity * MemoryStats.REFERENCE_BYTES, System.nanoTime() - start);
+        }
     }
 
     /**
@@ -176,6 +787,7 @@ public class CustomArrayList<E> extends CustomAbstractList<E> implements List<E>
 
     /**
      * Returns {@code true} if list contains specified element.
+     * Takes constant expected time in indexed lookup mode.
      *
      * @param o element whose presence in list is to be tested
      * @return {@code true} if list contains specified element
@@ -184,12 +796,13 @@ public class CustomArrayList<E> extends CustomAbstractList<E> implements List<E>
      */
     @Override
     public boolean contains(Object o) {
-        throw new UnsupportedOperationException();
+        return lookupIndex != null ? lookupIndex.contains(o) : indexOf(o) >= 0;
     }
 
     /**
      * Returns index of the first occurrence of specified element with the lowest index
      * in list or -1 if this list does not contain the element.
+     * Absent element is detected in constant expected time in indexed lookup mode.
      *
      * @param o element to search for
      * @return index of the first occurrence of specified element in
@@ -198,21 +811,29 @@ public class CustomArrayList<E> extends CustomAbstractList<E> implements List<E>
      *                            is incompatible with list
      */
     public int indexOf(Object o) {
-        throw new UnsupportedOperationException();
-    }
+        if (lookupIndex != null && !lookupIndex.contains(o)) {
+            return -1;
+        }
 
-    @Override
-    public void clear() {
-        throw new UnsupportedOperationException();
-    }
+        if (o == null) {
+            for (int i = 0; i < size; i++) {
+                if (elementData[i] == null) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                if (o.equals(elementData[i])) {
+                    return i;
+                }
+            }
+        }
 
-    @Override
-    public E set(int index, E element) {
-        throw new UnsupportedOperationException();
+        return -1;
     }
 
     @Override
-    public void add(int index, E element) {
+    public void clear() {
         throw new UnsupportedOperationException();
     }
 
@@ -221,65 +842,158 @@ public class CustomArrayList<E> extends CustomAbstractList<E> implements List<E>
         throw new UnsupportedOperationException();
     }
 
-    @Override
-    public boolean addAll(Collection<? extends E> c) {
-        throw new UnsupportedOperationException();
-    }
 
     @Override
-    public boolean addAll(int index, Collection<? extends E> c) {
+    public int lastIndexOf(Object o) {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    public boolean removeAll(Collection<?> c) {
+    public ListIterator<E> listIterator() {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    public boolean retainAll(Collection<?> c) {
+    public ListIterator<E> listIterator(int index) {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns view of portion of list between {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+     * View is a window onto array buffer of this list: it copies no elements, writes through to list
+     * and supports structural modifications. Structural modification of list made not through view
+     * makes view unusable, subsequent access throws {@link ConcurrentModificationException}.
+     *
+     * @param fromIndex low endpoint (inclusive) of view
+     * @param toIndex   high endpoint (exclusive) of view
+     * @return view of specified range within list
+     * @throws IndexOutOfBoundsException if endpoint index is out of range
+     *                                   ({@code fromIndex < 0 || toIndex > size() || fromIndex > toIndex})
+     */
     @Override
-    public void replaceAll(UnaryOperator<E> operator) {
-        throw new UnsupportedOperationException();
-    }
+    public List<E> subList(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
 
-    @Override
-    public void sort(Comparator<? super E> c) {
-        throw new UnsupportedOperationException();
+        return new SubList(fromIndex, toIndex - fromIndex);
     }
 
-    @Override
-    public int lastIndexOf(Object o) {
-        throw new UnsupportedOperationException();
-    }
+    /**
+     * Window of {@code size} elements of array buffer starting at {@code offset}.
+     */
+    private class SubList extends AbstractList<E> implements RandomAccess {
+
+        /**
+         * Index of the first element of view in list.
+         */
+        private final int offset;
+
+        /**
+         * Number of elements in view.
+         */
+        private int size;
+
+        /**
+         * Expected value of {@code modCount} of list.
+         */
+        private int expectedModCount;
+
+        SubList(int offset, int size) {
+            this.offset = offset;
+            this.size = size;
+            this.expectedModCount = CustomArrayList.this.modCount;
+        }
 
-    @Override
-    public ListIterator<E> listIterator() {
-        throw new UnsupportedOperationException();
-    }
+        @Override
+        public E get(int index) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
 
-    @Override
-    public ListIterator<E> listIterator(int index) {
-        throw new UnsupportedOperationException();
-    }
+            return elementData[offset + index];
+        }
 
-    @Override
-    public List<E> subList(int fromIndex, int toIndex) {
-        throw new UnsupportedOperationException();
+        @Override
+        public E set(int index, E element) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
+
+            return CustomArrayList.this.set(offset + index, element);
+        }
+
+        @Override
+        public void add(int index, E element) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Position index = " + index + ", view size = " + size);
+            }
+            checkForComodification();
+
+            CustomArrayList.this.add(offset + index, element);
+            expectedModCount = CustomArrayList.this.modCount;
+            size++;
+            modCount++;
+        }
+
+        @Override
+        public E remove(int index) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
+
+            E removedElement = CustomArrayList.this.remove(offset + index);
+            expectedModCount = CustomArrayList.this.modCount;
+            size--;
+            modCount++;
+
+            return removedElement;
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+
+            return size;
+        }
+
+        /**
+         * Checks that list has not been structurally modified not through this view.
+         */
+        private void checkForComodification() {
+            if (CustomArrayList.this.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
     }
 
+    /**
+     * Returns array containing all elements of list in proper sequence.
+     *
+     * @return array containing all elements of list
+     */
     @Override
     public Object[] toArray() {
-//        return new Object[0];
-        throw new UnsupportedOperationException();
+        return Arrays.copyOf(elementData, size, Object[].class);
     }
 
+    /**
+     * Returns array containing all elements of list in proper sequence,
+     * runtime type of returned array is that of specified array.
+     *
+     * @param a array into which elements of list are to be stored if it is big enough
+     * @return array containing elements of list
+     * @throws ArrayStoreException  if runtime type of specified array is not a supertype of every element
+     * @throws NullPointerException if specified array is null
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T[] toArray(T[] a) {
-        throw new UnsupportedOperationException();
+        if (a.length < size) {
+            return (T[]) Arrays.copyOf(elementData, size, a.getClass());
+        }
+
+        System.arraycopy(elementData, 0, a, 0, size);
+        if (a.length > size) {
+            a[size] = null;
+        }
+
+        return a;
     }
 
 //    @Override
@@ -0,0 +1,179 @@
+package com.clevertec.collection;
+
+import com.clevertec.collection.concurrent.ConcurrentCustomArrayList;
+import com.clevertec.collection.concurrent.ConcurrentCustomLinkedList;
+
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Implementations of {@link Collector} accumulating stream elements into custom lists.
+ * Unlike {@code Collectors.toCollection(CustomArrayList::new)}, collectors are safe for parallel streams:
+ * partial results built by different threads are combined in encounter order.
+ * <p>
+ * Array-based collectors accumulate elements in chain of array chunks, so combining partial results
+ * links two chains in constant time and final list is allocated once with exact size
+ * known only after accumulation, copying every element once regardless of parallelism.
+ * Linked list collectors splice partial lists in constant time.
+ *
+ * @see Collectors
+ */
+public final class CustomCollectors {
+
+    /**
+     * Capacity of the first chunk of accumulated elements.
+     */
+    private static final int FIRST_CHUNK_CAPACITY = 16;
+
+    /**
+     * Maximum capacity of chunk, chunks double in capacity up to it.
+     */
+    private static final int MAX_CHUNK_CAPACITY = 1 << 16;
+
+    private CustomCollectors() {
+    }
+
+    /**
+     * Returns collector accumulating elements into new {@link CustomArrayList} in encounter order.
+     * Array buffer of list is allocated once with exact number of collected elements.
+     *
+     * @param <E> type of elements
+     * @return collector into custom array list
+     */
+    public static <E> Collector<E, ?, CustomArrayList<E>> toCustomArrayList() {
+        return Collector.<E, Chunks<E>, CustomArrayList<E>>of(Chunks::new, Chunks::add, Chunks::concat, chunks -> {
+            CustomArrayList<E> list = new CustomArrayList<>(chunks.size);
+            for (Chunk chunk = chunks.first; chunk != null; chunk = chunk.next) {
+                list.insertArray(list.size(), chunk.elements, 0, chunk.size);
+            }
+            return list;
+        });
+    }
+
+    /**
+     * Returns collector accumulating elements into new {@link CustomLinkedList} in encounter order.
+     * Partial lists of parallel stream are combined by {@link CustomLinkedList#transferFrom(CustomLinkedList)}
+     * in constant time.
+     *
+     * @param <E> type of elements
+     * @return collector into custom linked list
+     */
+    public static <E> Collector<E, ?, CustomLinkedList<E>> toCustomLinkedList() {
+        return Collector.of(CustomLinkedList::new, CustomLinkedList::add, (left, right) -> {
+            left.transferFrom(right);
+            return left;
+        }, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Returns collector accumulating elements into new {@link ConcurrentCustomArrayList} in encounter order.
+     * Elements are accumulated without locking, list is allocated with exact number of collected elements
+     * and every chunk is appended to it by single batch.
+     *
+     * @param <E> type of elements
+     * @return collector into concurrent custom array list
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> Collector<E, ?, ConcurrentCustomArrayList<E>> toConcurrentCustomArrayList() {
+        return Collector.<E, Chunks<E>, ConcurrentCustomArrayList<E>>of(Chunks::new, Chunks::add, Chunks::concat,
+                chunks -> {
+                    ConcurrentCustomArrayList<E> list = new ConcurrentCustomArrayList<>(chunks.size);
+                    for (Chunk chunk = chunks.first; chunk != null; chunk = chunk.next) {
+                        list.addBatch((E[]) chunk.elements, 0, chunk.size);
+                    }
+                    return list;
+                });
+    }
+
+    /**
+     * Returns collector accumulating elements into new {@link ConcurrentCustomLinkedList} in encounter order.
+     * Elements are accumulated without locking, every chunk is linked to list as prebuilt chain of nodes.
+     *
+     * @param <E> type of elements
+     * @return collector into concurrent custom linked list
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> Collector<E, ?, ConcurrentCustomLinkedList<E>> toConcurrentCustomLinkedList() {
+        return Collector.<E, Chunks<E>, ConcurrentCustomLinkedList<E>>of(Chunks::new, Chunks::add, Chunks::concat,
+                chunks -> {
+                    ConcurrentCustomLinkedList<E> list = new ConcurrentCustomLinkedList<>();
+                    for (Chunk chunk = chunks.first; chunk != null; chunk = chunk.next) {
+                        list.addBatch((E[]) chunk.elements, 0, chunk.size);
+                    }
+                    return list;
+                });
+    }
+
+    /**
+     * Array chunk of accumulated elements linked to the next one.
+     */
+    private static final class Chunk {
+
+        final Object[] elements;
+
+        int size;
+
+        Chunk next;
+
+        Chunk(int capacity) {
+            elements = new Object[capacity];
+        }
+    }
+
+    /**
+     * Chain of chunks holding accumulated elements in encounter order.
+     */
+    private static final class Chunks<E> {
+
+        Chunk first;
+
+        Chunk last;
+
+        /**
+         * Total number of accumulated elements.
+         */
+        int size;
+
+        /**
+         * Appends element to the last chunk, starting new chunk of double capacity if it is full.
+         */
+        void add(E element) {
+            if (last == null || last.size == last.elements.length) {
+                Chunk chunk = new Chunk(last == null
+                        ? FIRST_CHUNK_CAPACITY
+                        : Math.min(last.elements.length * 2, MAX_CHUNK_CAPACITY));
+                if (last == null) {
+                    first = chunk;
+                } else {
+                    last.next = chunk;
+                }
+                last = chunk;
+            }
+
+            last.elements[last.size++] = element;
+            size++;
+        }
+
+        /**
+         * Links chain of elements following this one in encounter order.
+         */
+        Chunks<E> concat(Chunks<E> other) {
+            if (other.first == null) {
+                return this;
+            }
+            if (first == null) {
+                return other;
+            }
+            if (Integer.MAX_VALUE - size < other.size) {
+                throw new OutOfMemoryError("Too many collected elements");
+            }
+
+            last.next = other.first;
+            last = other.last;
+            size += other.size;
+
+            return this;
+        }
+    }
+
+}
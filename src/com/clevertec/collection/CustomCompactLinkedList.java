@@ -0,0 +1,803 @@
+package com.clevertec.collection;
+
+import com.clevertec.collection.metrics.ListMetrics;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Custom doubly-linked list implementation of {@link List} interface backed by parallel arrays.
+ * Elements are stored in {@code Object[]} slots, links between them are slot numbers kept in
+ * {@code int[]} arrays instead of separate node objects, so list occupies few contiguous arrays
+ * and costs about 16 bytes per element instead of about 24 bytes of node plus reference.
+ * Slots of removed elements are chained in free-slot list and reused by subsequent adds.
+ * <p>
+ * Handle returned by {@link #addAndGetHandle(Object)} packs slot of element with generation of slot
+ * and allows to get and unlink element in constant time. Generation of slot changes whenever
+ * its element is removed, so handle of removed element is rejected even after its slot
+ * is reused by another element, unless generation of slot wraps around after 2<sup>32</sup> reuses.
+ * Permits {@code null}.
+ *
+ * @param <E> type of contained list elements
+ * @see CustomLinkedList
+ */
+public class CustomCompactLinkedList<E> extends CustomAbstractList<E> implements List<E>, Serializable {
+
+    /**
+     * Handle meaning absence of element, e.g. handle of element following the last one.
+     */
+    public static final long NO_HANDLE = -1L;
+
+    /**
+     * Slot meaning absence of element, e.g. link of the last element to the next one.
+     */
+    private static final int NO_SLOT = -1;
+
+    /**
+     * Default initial capacity.
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * Multiplayer to increase capacity of list.
+     */
+    private static final int INCREASING_ARRAY_SIZE_MULTIPLAYER = 2;
+
+    /**
+     * Mark in array of previous links distinguishing free slot from occupied one.
+     */
+    private static final int FREE_SLOT = -2;
+
+    /**
+     * Elements by slot, {@code null} in free slots.
+     */
+    private Object[] elementData;
+
+    /**
+     * Slot of the next element by slot, or the next free slot for free slots.
+     */
+    private int[] next;
+
+    /**
+     * Slot of the previous element by slot, or {@link #FREE_SLOT} for free slots.
+     */
+    private int[] prev;
+
+    /**
+     * Generation of slot by slot relative to {@link #generationBase},
+     * incremented when element of slot is removed.
+     */
+    private int[] generations;
+
+    /**
+     * Generation of slots never freed since list was cleared, exceeds every generation issued before.
+     */
+    private int generationBase;
+
+    /**
+     * The greatest relative generation of slot since list was cleared.
+     */
+    private int maxGeneration;
+
+    /**
+     * Slot of the first element.
+     */
+    private int head = NO_SLOT;
+
+    /**
+     * Slot of the last element.
+     */
+    private int tail = NO_SLOT;
+
+    /**
+     * The first slot of free-slot list.
+     */
+    private int freeSlot = NO_SLOT;
+
+    /**
+     * Number of slots ever occupied, slots from this number to capacity are free and not chained.
+     */
+    private int usedSlots;
+
+    /**
+     * Constructs empty list with initial capacity.
+     */
+    public CustomCompactLinkedList() {
+        super();
+        initArrays(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Appends element to the end of list.
+     *
+     * @param element element to be appended to list
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(E element) {
+        linkBefore(element, NO_SLOT);
+
+        return true;
+    }
+
+    /**
+     * Appends element to the end of list and returns its handle.
+     *
+     * @param element element to be appended to list
+     * @return handle of appended element
+     * @see #removeByHandle(long)
+     */
+    public long addAndGetHandle(E element) {
+        return handleOf(linkBefore(element, NO_SLOT));
+    }
+
+    /**
+     * Inserts element at specified position, shifting element at this position and subsequent ones to the right.
+     *
+     * @param index   index at which specified element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException if index is negative or greater than size of list
+     *                                   ({@code index < 0 || index > size()})
+     */
+    @Override
+    public void add(int index, E element) {
+        checkPositionIndex(index);
+
+        linkBefore(element, index == size ? NO_SLOT : slotByIndex(index));
+    }
+
+    /**
+     * Returns element at specified position in list.
+     *
+     * @param index index of element to return
+     * @return element at specified position in list
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    @Override
+    public E get(int index) {
+        return elementAt(slotByIndex(index));
+    }
+
+    /**
+     * Returns element with specified handle in constant time.
+     *
+     * @param handle handle of element
+     * @return element with specified handle
+     * @throws IllegalArgumentException if handle does not belong to element of list
+     */
+    public E getByHandle(long handle) {
+        return elementAt(slotOf(handle));
+    }
+
+    /**
+     * Replaces element at specified position with specified element.
+     *
+     * @param index   index of element to replace
+     * @param element element to be stored at specified position
+     * @return element previously at specified position
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    @Override
+    public E set(int index, E element) {
+        final int slot = slotByIndex(index);
+        final E oldElement = elementAt(slot);
+        elementData[slot] = element;
+
+        return oldElement;
+    }
+
+    /**
+     * Removes element at specified position, shifting subsequent elements to the left.
+     *
+     * @param index index of element to remove
+     * @return removed element
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    @Override
+    public E remove(int index) {
+        return unlink(slotByIndex(index));
+    }
+
+    /**
+     * Removes element with specified handle in constant time. Handle becomes invalid.
+     *
+     * @param handle handle of element to remove
+     * @return removed element
+     * @throws IllegalArgumentException if handle does not belong to element of list
+     */
+    public E removeByHandle(long handle) {
+        return unlink(slotOf(handle));
+    }
+
+    /**
+     * Removes the first occurrence of specified element if it is present.
+     *
+     * @param element element to be removed from list
+     * @return {@code true} if list contained specified element
+     */
+    @Override
+    public boolean remove(Object element) {
+        final int slot = slotOf(element);
+        if (slot == NO_SLOT) {
+            return false;
+        }
+
+        unlink(slot);
+
+        return true;
+    }
+
+    /**
+     * Returns handle of the first element.
+     *
+     * @return handle of the first element or {@link #NO_HANDLE} if list is empty
+     */
+    public long firstHandle() {
+        return handleOf(head);
+    }
+
+    /**
+     * Returns handle of the last element.
+     *
+     * @return handle of the last element or {@link #NO_HANDLE} if list is empty
+     */
+    public long lastHandle() {
+        return handleOf(tail);
+    }
+
+    /**
+     * Returns handle of element following element with specified handle.
+     *
+     * @param handle handle of element
+     * @return handle of the next element or {@link #NO_HANDLE} if element is the last one
+     * @throws IllegalArgumentException if handle does not belong to element of list
+     */
+    public long nextHandle(long handle) {
+        return handleOf(next[slotOf(handle)]);
+    }
+
+    /**
+     * Returns handle of element preceding element with specified handle.
+     *
+     * @param handle handle of element
+     * @return handle of the previous element or {@link #NO_HANDLE} if element is the first one
+     * @throws IllegalArgumentException if handle does not belong to element of list
+     */
+    public long prevHandle(long handle) {
+        return handleOf(prev[slotOf(handle)]);
+    }
+
+    /**
+     * Returns number of element slots allocated in arrays.
+     *
+     * @return capacity of list
+     */
+    public int capacity() {
+        return elementData.length;
+    }
+
+    /**
+     * Returns estimated memory footprint of list computed from capacity of its arrays.
+     * Free slots are reported as wasted.
+     *
+     * @return footprint of list
+     */
+    public MemoryStats footprint() {
+        final int capacity = elementData.length;
+        final int slotBytes = MemoryStats.REFERENCE_BYTES + 3 * Integer.BYTES;
+
+        return new MemoryStats(MemoryStats.instanceBytes(getClass())
+                + MemoryStats.arrayBytes(capacity, MemoryStats.REFERENCE_BYTES)
+                + 3 * MemoryStats.arrayBytes(capacity, Integer.BYTES),
+                0, size, capacity, (long) (capacity - size) * slotBytes);
+    }
+
+    /**
+     * Returns index of the first occurrence of specified element, or -1 if list does not contain element.
+     *
+     * @param o element to search for
+     * @return index of the first occurrence of element or -1
+     */
+    @Override
+    public int indexOf(Object o) {
+        int index = 0;
+        for (int slot = head; slot != NO_SLOT; slot = next[slot]) {
+            if (Objects.equals(o, elementData[slot])) {
+                return index;
+            }
+            index++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns {@code true} if list contains specified element.
+     *
+     * @param o element whose presence in list is to be tested
+     * @return {@code true} if list contains specified element
+     */
+    @Override
+    public boolean contains(Object o) {
+        return slotOf(o) != NO_SLOT;
+    }
+
+    /**
+     * Removes all elements from list and releases grown arrays.
+     */
+    @Override
+    public void clear() {
+        initArrays(INITIAL_CAPACITY);
+        generationBase += maxGeneration + 1;
+        maxGeneration = 0;
+        head = NO_SLOT;
+        tail = NO_SLOT;
+        freeSlot = NO_SLOT;
+        usedSlots = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Performs action for each element in order of index following links between slots,
+     * without creating iterator.
+     *
+     * @param action action to be performed for each element
+     * @throws NullPointerException            if specified action is null
+     * @throws ConcurrentModificationException if list is structurally modified by action
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        final int expectedModCount = modCount;
+        for (int slot = head; slot != NO_SLOT && modCount == expectedModCount; slot = next[slot]) {
+            action.accept(elementAt(slot));
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Performs action for each element together with its index, in order of index,
+     * following links between slots.
+     *
+     * @param action action to be performed for each element and its index
+     * @throws NullPointerException            if specified action is null
+     * @throws ConcurrentModificationException if list is structurally modified by action
+     */
+    @Override
+    public void forEachIndexed(ObjIntConsumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        final int expectedModCount = modCount;
+        int index = 0;
+        for (int slot = head; slot != NO_SLOT && modCount == expectedModCount; slot = next[slot]) {
+            action.accept(elementAt(slot), index++);
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns iterator over elements in list following links between slots.
+     * Iterator fails fast on modifications made not through it.
+     *
+     * @return iterator over elements in list
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new SlotItr();
+    }
+
+    /**
+     * Returns reusable cursor over elements in list following links between slots.
+     *
+     * @return cursor positioned before the first element of list
+     */
+    @Override
+    public ListCursor<E> cursor() {
+        return new SlotItr();
+    }
+
+    /**
+     * Iterator over slots of list elements.
+     */
+    private class SlotItr implements ListCursor<E> {
+        /**
+         * Slot of element to be returned by subsequent call to next.
+         */
+        private int nextSlot = head;
+
+        /**
+         * Slot of element returned by most recent call to next.
+         * Reset to {@link #NO_SLOT} if this element is deleted by call to remove.
+         */
+        private int lastReturned = NO_SLOT;
+
+        /**
+         * Modification count of list expected by iterator.
+         */
+        private int expectedModCount = modCount;
+
+        /**
+         * Returns {@code true} if iteration has more elements.
+         *
+         * @return {@code true} if iteration has more elements
+         */
+        public boolean hasNext() {
+            return nextSlot != NO_SLOT;
+        }
+
+        /**
+         * Returns the next element in iteration.
+         *
+         * @return the next element in iteration
+         * @throws NoSuchElementException          if iteration has no more elements
+         * @throws ConcurrentModificationException if list was modified not through iterator
+         */
+        public E next() {
+            checkForComodification();
+            if (nextSlot == NO_SLOT) {
+                throw new NoSuchElementException();
+            }
+
+            lastReturned = nextSlot;
+            nextSlot = next[nextSlot];
+
+            return elementAt(lastReturned);
+        }
+
+        /**
+         * Removes from list the last element returned by iterator.
+         *
+         * @throws IllegalStateException          if {@code next} method has not
+         *                                         yet been called or {@code remove} method has already
+         *                                         been called after the last call to {@code next} method
+         * @throws ConcurrentModificationException if list was modified not through iterator
+         */
+        public void remove() {
+            if (lastReturned == NO_SLOT) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+
+            unlink(lastReturned);
+            lastReturned = NO_SLOT;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Rewinds iterator to the first element of list.
+         */
+        public void reset() {
+            nextSlot = head;
+            lastReturned = NO_SLOT;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Checks that list was not modified not through iterator.
+         */
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Returns array containing all elements of list in proper sequence.
+     *
+     * @return array containing all elements of list
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int i = 0;
+        for (int slot = head; slot != NO_SLOT; slot = next[slot]) {
+            array[i++] = elementData[slot];
+        }
+
+        return array;
+    }
+
+    /**
+     * Returns array containing all elements of list in proper sequence,
+     * runtime type of returned array is that of specified array.
+     *
+     * @param a array into which elements of list are to be stored if it is big enough
+     * @return array containing elements of list
+     * @throws ArrayStoreException  if runtime type of specified array is not a supertype of every element
+     * @throws NullPointerException if specified array is null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        if (a.length < size) {
+            a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        }
+
+        int i = 0;
+        for (int slot = head; slot != NO_SLOT; slot = next[slot]) {
+            a[i++] = (T) elementData[slot];
+        }
+        if (a.length > size) {
+            a[size] = null;
+        }
+
+        return a;
+    }
+
+    /**
+     * Returns string representation of list.
+     *
+     * @return string representation of list
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append('[');
+
+        for (int slot = head; slot != NO_SLOT; slot = next[slot]) {
+            if (slot != head) {
+                builder.append(", ");
+            }
+            builder.append(elementData[slot]);
+        }
+
+        builder.append(']');
+
+        return builder.toString();
+    }
+
+    /**
+     * Returns element in occupied slot.
+     */
+    @SuppressWarnings("unchecked")
+    private E elementAt(int slot) {
+        return (E) elementData[slot];
+    }
+
+    /**
+     * Returns slot of element at specified index walking from the nearest end of list.
+     */
+    private int slotByIndex(int index) {
+        checkElementIndex(index);
+
+        final long start = ListMetrics.ENABLED ? ListMetrics.beginTraversal(this) : 0L;
+        int slot;
+        if (index < (size / 2)) {
+            slot = head;
+            for (int i = 0; i < index; i++) {
+                slot = next[slot];
+            }
+        } else {
+            slot = tail;
+            for (int i = size - 1; i > index; i--) {
+                slot = prev[slot];
+            }
+        }
+
+        if (ListMetrics.ENABLED) {
+            ListMetrics.traversal(this, size, Math.min(index, size - 1 - index), System.nanoTime() - start);
+        }
+
+        return slot;
+    }
+
+    /**
+     * Returns slot of the first occurrence of element or {@link #NO_SLOT} if list does not contain element.
+     */
+    private int slotOf(Object element) {
+        for (int slot = head; slot != NO_SLOT; slot = next[slot]) {
+            if (Objects.equals(element, elementData[slot])) {
+                return slot;
+            }
+        }
+
+        return NO_SLOT;
+    }
+
+    /**
+     * Links element before occupied successor slot or as last one if successor is {@link #NO_SLOT}.
+     * Returns slot of new element.
+     */
+    private int linkBefore(E element, int successor) {
+        final int slot = takeFreeSlot();
+        final int predecessor = successor == NO_SLOT ? tail : prev[successor];
+
+        elementData[slot] = element;
+        prev[slot] = predecessor;
+        next[slot] = successor;
+
+        if (predecessor == NO_SLOT) {
+            head = slot;
+        } else {
+            next[predecessor] = slot;
+        }
+
+        if (successor == NO_SLOT) {
+            tail = slot;
+        } else {
+            prev[successor] = slot;
+        }
+
+        size++;
+        modCount++;
+
+        return slot;
+    }
+
+    /**
+     * Unlinks occupied slot and returns it to free-slot list.
+     */
+    private E unlink(int slot) {
+        final E element = elementAt(slot);
+        final int successor = next[slot];
+        final int predecessor = prev[slot];
+
+        if (predecessor == NO_SLOT) {
+            head = successor;
+        } else {
+            next[predecessor] = successor;
+        }
+
+        if (successor == NO_SLOT) {
+            tail = predecessor;
+        } else {
+            prev[successor] = predecessor;
+        }
+
+        elementData[slot] = null;
+        prev[slot] = FREE_SLOT;
+        maxGeneration = Math.max(maxGeneration, ++generations[slot]);
+        next[slot] = freeSlot;
+        freeSlot = slot;
+
+        size--;
+        modCount++;
+
+        return element;
+    }
+
+    /**
+     * Returns free slot taken from free-slot list or from never used slots, growing arrays if necessary.
+     */
+    private int takeFreeSlot() {
+        if (freeSlot != NO_SLOT) {
+            final int slot = freeSlot;
+            freeSlot = next[slot];
+            return slot;
+        }
+
+        if (usedSlots == elementData.length) {
+            grow();
+        }
+
+        return usedSlots++;
+    }
+
+    /**
+     * Increases capacity of list instance by making it double.
+     */
+    private void grow() {
+        final long start = ListMetrics.ENABLED ? ListMetrics.beginResize(this) : 0L;
+        final int oldCapacity = elementData.length;
+        int newIncreasedCapacity = oldCapacity * INCREASING_ARRAY_SIZE_MULTIPLAYER;
+        elementData = Arrays.copyOf(elementData, newIncreasedCapacity);
+        next = Arrays.copyOf(next, newIncreasedCapacity);
+        prev = Arrays.copyOf(prev, newIncreasedCapacity);
+        generations = Arrays.copyOf(generations, newIncreasedCapacity);
+
+        if (ListMetrics.ENABLED) {
+            ListMetrics.resize(this, size, oldCapacity, newIncreasedCapacity,
+                    (long) oldCapacity * (MemoryStats.REFERENCE_BYTES + 3 * Integer.BYTES), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Creates empty arrays with specified capacity.
+     */
+    private void initArrays(int capacity) {
+        elementData = new Object[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        generations = new int[capacity];
+    }
+
+    /**
+     * Returns handle of occupied slot packing its generation into high half,
+     * or {@link #NO_HANDLE} for {@link #NO_SLOT}.
+     */
+    private long handleOf(int slot) {
+        if (slot == NO_SLOT) {
+            return NO_HANDLE;
+        }
+
+        return (long) (generationBase + generations[slot]) << Integer.SIZE | slot;
+    }
+
+    /**
+     * Returns slot of element with specified handle, checking that slot is occupied
+     * and its generation is the one packed into handle.
+     */
+    private int slotOf(long handle) {
+        final int slot = (int) handle;
+        if (slot < 0 || slot >= usedSlots || prev[slot] == FREE_SLOT
+                || generationBase + generations[slot] != (int) (handle >>> Integer.SIZE)) {
+            throw new IllegalArgumentException("Illegal handle = " + handle);
+        }
+
+        return slot;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        throw new UnsupportedOperationException();
+    }
+
+}
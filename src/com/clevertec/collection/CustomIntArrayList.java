@@ -0,0 +1,654 @@
+package com.clevertec.collection;
+
+import com.clevertec.collection.metrics.ListMetrics;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Custom resizable-array implementation of {@link List} interface specialized for {@code int} values.
+ * Stores elements in primitive array without boxing, boxed values are created on access through
+ * {@link List} methods only. Does not permit {@code null}.
+ * <p>
+ * Searches and reductions ({@link #indexOfInt}, {@link #containsInt}, {@link #countInt}, {@link #sum},
+ * {@link #min}, {@link #max}) compare whole vector lanes when JVM is started with
+ * {@code --add-modules jdk.incubator.vector}, and fall back to scalar loops otherwise, see {@link #isVectorized()}.
+ *
+ * @see CustomArrayList
+ */
+public class CustomIntArrayList extends CustomAbstractList<Integer> implements List<Integer>, RandomAccess, Serializable {
+
+    /**
+     * Default initial capacity.
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * Multiplayer to increase capacity of list.
+     */
+    private static final int INCREASING_ARRAY_SIZE_MULTIPLAYER = 2;
+
+    /**
+     * Number of bits of single digit of radix sort.
+     */
+    private static final int RADIX_BITS = 8;
+
+    /**
+     * Number of buckets of radix sort.
+     */
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    /**
+     * Minimum size of list to sort it by radix sort instead of comparison sort.
+     */
+    private static final int RADIX_SORT_THRESHOLD = 1 << 10;
+
+    /**
+     * Array buffer into which elements of list are stored.
+     * Capacity of list is length of array buffer.
+     */
+    private int[] elementData;
+
+    /**
+     * Constructs empty list with initial capacity.
+     */
+    public CustomIntArrayList() {
+        super();
+        elementData = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Appends value to list without boxing.
+     * Increases current capacity of list, make it double if size equals length of elements array.
+     *
+     * @param value value to be appended to list
+     */
+    public void addInt(int value) {
+        if (size == elementData.length) {
+            grow();
+        }
+        elementData[size++] = value;
+        modCount++;
+    }
+
+    /**
+     * Add element to list.
+     *
+     * @param element element to be appended to list
+     * @return {@code true}
+     * @throws NullPointerException if element is null
+     */
+    @Override
+    public boolean add(Integer element) {
+        addInt(element);
+
+        return true;
+    }
+
+    /**
+     * Returns value at specified position in list without boxing.
+     *
+     * @param index index of value to return
+     * @return value at specified position in list
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    public int getInt(int index) {
+        checkElementIndex(index);
+
+        return elementData[index];
+    }
+
+    /**
+     * Returns element at specified position in list.
+     *
+     * @param index index of element to return
+     * @return element at specified position in list
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    /**
+     * Removes element from list and returns removed element on specific index.
+     *
+     * @param index index of element to remove
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    @Override
+    public Integer remove(int index) {
+        checkElementIndex(index);
+
+        int removedElement = elementData[index];
+        size--;
+        modCount++;
+        System.arraycopy(elementData, index + 1, elementData, index, size - index);
+        if (ListMetrics.ENABLED) {
+            ListMetrics.shift(this, size - index);
+        }
+
+        return removedElement;
+    }
+
+    /**
+     * Removes the first occurrence of the specified element with the lowest index from list if it is present.
+     *
+     * @param element element to be removed from list
+     * @return {@code true} if list contained specified element
+     */
+    @Override
+    public boolean remove(Object element) {
+        if (!(element instanceof Integer)) {
+            return false;
+        }
+
+        int elementIndex = indexOfInt((Integer) element);
+        if (elementIndex < 0) {
+            return false;
+        }
+
+        remove(elementIndex);
+
+        return true;
+    }
+
+    /**
+     * Returns index of the first occurrence of value in list or -1 if list does not contain it.
+     * Values are compared directly in array buffer, without boxing searched value or elements.
+     *
+     * @param value value to search for
+     * @return index of the first occurrence of value or -1 if list does not contain it
+     */
+    public int indexOfInt(int value) {
+        return IntKernels.INSTANCE.indexOf(elementData, 0, size, value);
+    }
+
+    /**
+     * Returns {@code true} if list contains value.
+     *
+     * @param value value whose presence in list is to be tested
+     * @return {@code true} if list contains value
+     */
+    public boolean containsInt(int value) {
+        return indexOfInt(value) >= 0;
+    }
+
+    /**
+     * Returns number of occurrences of value at positions from {@code fromIndex}, inclusive,
+     * to {@code toIndex}, exclusive. Unlike {@link #count(IntPredicate, int, int)}, compares by vector lanes.
+     *
+     * @param value     value to count
+     * @param fromIndex index of the first value to test
+     * @param toIndex   index after the last value to test
+     * @return number of occurrences of value in range
+     * @throws IndexOutOfBoundsException if range is out of bounds of list
+     */
+    public int countInt(int value, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+
+        return IntKernels.INSTANCE.count(elementData, fromIndex, toIndex, value);
+    }
+
+    /**
+     * Returns number of values at positions from {@code fromIndex}, inclusive,
+     * to {@code toIndex}, exclusive, satisfying specified predicate.
+     * Predicate is opaque code tested value by value, so this scan is always scalar.
+     *
+     * @param predicate predicate to test values
+     * @param fromIndex index of the first value to test
+     * @param toIndex   index after the last value to test
+     * @return number of values satisfying predicate
+     * @throws IndexOutOfBoundsException if range is out of bounds of list
+     */
+    public int count(IntPredicate predicate, int fromIndex, int toIndex) {
+        Objects.requireNonNull(predicate);
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+
+        final int[] values = elementData;
+        int count = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            count += predicate.test(values[i]) ? 1 : 0;
+        }
+
+        return count;
+    }
+
+    /**
+     * Performs action for each primitive value in order of index without boxing.
+     *
+     * @param action action to be performed for each value
+     * @throws NullPointerException            if specified action is null
+     * @throws ConcurrentModificationException if list is structurally modified by action
+     */
+    public void forEachInt(IntConsumer action) {
+        Objects.requireNonNull(action);
+
+        final int expectedModCount = modCount;
+        final int[] values = elementData;
+        for (int i = 0, end = size; i < end && modCount == expectedModCount; i++) {
+            action.accept(values[i]);
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Performs action for each boxed value in order of index. Prefer {@link #forEachInt(IntConsumer)}.
+     *
+     * @param action action to be performed for each element
+     * @throws NullPointerException            if specified action is null
+     * @throws ConcurrentModificationException if list is structurally modified by action
+     */
+    @Override
+    public void forEach(Consumer<? super Integer> action) {
+        Objects.requireNonNull(action);
+
+        forEachInt(action::accept);
+    }
+
+    /**
+     * Performs action for each boxed value together with its index, in order of index.
+     *
+     * @param action action to be performed for each element and its index
+     * @throws NullPointerException            if specified action is null
+     * @throws ConcurrentModificationException if list is structurally modified by action
+     */
+    @Override
+    public void forEachIndexed(ObjIntConsumer<? super Integer> action) {
+        Objects.requireNonNull(action);
+
+        final int expectedModCount = modCount;
+        final int[] values = elementData;
+        for (int i = 0, end = size; i < end && modCount == expectedModCount; i++) {
+            action.accept(values[i], i);
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns estimated memory footprint of list computed from capacity of array buffer.
+     * Values are stored inline, so footprint of list is its total footprint.
+     *
+     * @return footprint of list
+     */
+    public MemoryStats footprint() {
+        final int capacity = elementData.length;
+
+        return new MemoryStats(MemoryStats.instanceBytes(getClass()) + MemoryStats.arrayBytes(capacity, Integer.BYTES),
+                0, size, capacity, (long) (capacity - size) * Integer.BYTES);
+    }
+
+    /**
+     * Returns {@code true} if searches and reductions of lists process values by vector lanes,
+     * that is module {@code jdk.incubator.vector} is present in JVM.
+     *
+     * @return {@code true} if vector implementation is used
+     */
+    public static boolean isVectorized() {
+        return IntKernels.INSTANCE.vectorized();
+    }
+
+    /**
+     * Returns sum of all values. Values are read directly from array buffer without boxing.
+     *
+     * @return sum of values as {@code long}, 0 for empty list
+     */
+    public long sum() {
+        return IntKernels.INSTANCE.sum(elementData, 0, size);
+    }
+
+    /**
+     * Returns minimum value. Values are read directly from array buffer without boxing.
+     *
+     * @return minimum value
+     * @throws NoSuchElementException if list is empty
+     */
+    public int min() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        return IntKernels.INSTANCE.min(elementData, 0, size);
+    }
+
+    /**
+     * Returns maximum value. Values are read directly from array buffer without boxing.
+     *
+     * @return maximum value
+     * @throws NoSuchElementException if list is empty
+     */
+    public int max() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        return IntKernels.INSTANCE.max(elementData, 0, size);
+    }
+
+
+    /**
+     * Sorts values in ascending order.
+     * Large lists are sorted by LSD radix sort in linear time, small ones by {@link Arrays#sort(int[], int, int)}.
+     */
+    public void sortInts() {
+        if (size < RADIX_SORT_THRESHOLD) {
+            Arrays.sort(elementData, 0, size);
+        } else {
+            radixSort(elementData, size);
+        }
+        modCount++;
+    }
+
+    /**
+     * Sorts list according to order induced by specified comparator.
+     * Natural ordering, requested by {@code null} or {@link Comparator#naturalOrder()},
+     * is handled by {@link #sortInts()} without boxing.
+     *
+     * @param c comparator to compare elements, {@code null} means natural ordering
+     */
+    @Override
+    public void sort(Comparator<? super Integer> c) {
+        if (c == null || c == Comparator.naturalOrder()) {
+            sortInts();
+            return;
+        }
+
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            boxed[i] = elementData[i];
+        }
+        Arrays.sort(boxed, c);
+        for (int i = 0; i < size; i++) {
+            elementData[i] = boxed[i];
+        }
+        modCount++;
+    }
+
+    /**
+     * Sorts first {@code length} values of array by least significant digit radix sort
+     * processing one byte per pass. Passes where all values have the same digit are skipped.
+     * Sign bit is flipped in the most significant digit to order negative values first.
+     */
+    private static void radixSort(int[] values, int length) {
+        int[] source = values;
+        int[] target = new int[length];
+        int[] counts = new int[RADIX];
+
+        for (int shift = 0; shift < Integer.SIZE; shift += RADIX_BITS) {
+            final int signFlip = shift == Integer.SIZE - RADIX_BITS ? RADIX >>> 1 : 0;
+
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < length; i++) {
+                counts[((source[i] >>> shift) & (RADIX - 1)) ^ signFlip]++;
+            }
+
+            if (counts[((source[0] >>> shift) & (RADIX - 1)) ^ signFlip] == length) {
+                continue;
+            }
+
+            for (int digit = 0, offset = 0; digit < RADIX; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+
+            for (int i = 0; i < length; i++) {
+                int value = source[i];
+                target[counts[((value >>> shift) & (RADIX - 1)) ^ signFlip]++] = value;
+            }
+
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        if (source != values) {
+            System.arraycopy(source, 0, values, 0, length);
+        }
+    }
+
+    /**
+     * Returns string representation of list.
+     *
+     * @return string representation of list
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append('[');
+
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(elementData[i]);
+        }
+
+        builder.append(']');
+
+        return builder.toString();
+    }
+
+    /**
+     * Appends all elements of specified collection.
+     *
+     * @param c collection containing elements to be added to list
+     * @return {@code true} if list changed as a result of the call
+     * @throws NullPointerException if specified collection is null or contains {@code null}
+     * @see #addAll(int, Collection)
+     */
+    @Override
+    public boolean addAll(Collection<? extends Integer> c) {
+        return addAll(size, c);
+    }
+
+    /**
+     * Inserts all elements of specified collection at specified position, shifting subsequent
+     * elements to the right. Array buffer is resized at most once; values of another
+     * {@code CustomIntArrayList} are copied by {@link System#arraycopy} without boxing.
+     *
+     * @param index index at which to insert the first element from specified collection
+     * @param c     collection containing elements to be added to list
+     * @return {@code true} if list changed as a result of the call
+     * @throws IndexOutOfBoundsException if index is negative or greater than size of list
+     *                                   ({@code index < 0 || index > size()})
+     * @throws NullPointerException      if specified collection is null or contains {@code null}
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends Integer> c) {
+        checkPositionIndex(index);
+
+        final int[] source;
+        final int sourceSize;
+        if (c instanceof CustomIntArrayList) {
+            CustomIntArrayList other = (CustomIntArrayList) c;
+            source = other == this ? Arrays.copyOf(elementData, size) : other.elementData;
+            sourceSize = other.size;
+        } else {
+            Object[] boxed = c.toArray();
+            sourceSize = boxed.length;
+            source = new int[sourceSize];
+            for (int i = 0; i < sourceSize; i++) {
+                source[i] = (Integer) boxed[i];
+            }
+        }
+
+        if (sourceSize == 0) {
+            return false;
+        }
+
+        if (size + sourceSize > elementData.length) {
+            int newIncreasedCapacity = Math.max(elementData.length * INCREASING_ARRAY_SIZE_MULTIPLAYER, size + sourceSize);
+            resize(newIncreasedCapacity);
+        }
+        System.arraycopy(elementData, index, elementData, index + sourceSize, size - index);
+        if (ListMetrics.ENABLED) {
+            ListMetrics.shift(this, size - index);
+        }
+        System.arraycopy(source, 0, elementData, index, sourceSize);
+        size += sourceSize;
+        modCount++;
+
+        return true;
+    }
+
+    /**
+     * Increases capacity of list instance by making it double.
+     */
+    private void grow() {
+        int newIncreasedCapacity = elementData.length * INCREASING_ARRAY_SIZE_MULTIPLAYER;
+        resize(newIncreasedCapacity);
+    }
+
+    /**
+     * Reallocates array buffer with specified capacity, reporting resize to instrumentation if it is enabled.
+     */
+    private void resize(int newCapacity) {
+        final long start = ListMetrics.ENABLED ? ListMetrics.beginResize(this) : 0L;
+        final int oldCapacity = elementData.length;
+        elementData = Arrays.copyOf(elementData, newCapacity);
+
+        if (ListMetrics.ENABLED) {
+            ListMetrics.resize(this, size, oldCapacity, newCapacity,
+                    (long) oldCapacity * Integer.BYTES, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns {@code true} if list contains specified element.
+     *
+     * @param o element whose presence in list is to be tested
+     * @return {@code true} if list contains specified element
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Returns index of the first occurrence of specified element in list or -1 if list does not contain it.
+     *
+     * @param o element to search for
+     * @return index of the first occurrence of element or -1 if list does not contain it
+     * @see #indexOfInt(int)
+     */
+    @Override
+    public int indexOf(Object o) {
+        return o instanceof Integer ? indexOfInt((Integer) o) : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Integer set(int index, Integer element) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ListIterator<Integer> listIterator() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ListIterator<Integer> listIterator(int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Integer> subList(int fromIndex, int toIndex) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns array containing all elements of list boxed in proper sequence.
+     *
+     * @return array containing all elements of list
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = elementData[i];
+        }
+
+        return array;
+    }
+
+    /**
+     * Returns array containing all elements of list boxed in proper sequence,
+     * runtime type of returned array is that of specified array.
+     *
+     * @param a array into which elements of list are to be stored if it is big enough
+     * @return array containing elements of list
+     * @throws ArrayStoreException  if runtime type of specified array is not a supertype of {@link Integer}
+     * @throws NullPointerException if specified array is null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        if (a.length < size) {
+            a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        }
+
+        Object[] array = a;
+        for (int i = 0; i < size; i++) {
+            array[i] = elementData[i];
+        }
+        if (a.length > size) {
+            a[size] = null;
+        }
+
+        return a;
+    }
+
+}
@@ -1,10 +1,21 @@
 package com.clevertec.collection;
 
+import com.clevertec.collection.metrics.ListMetrics;
+
 import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.AbstractList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Custom doubly-linked list implementation of {@link List} interface.
@@ -25,6 +36,26 @@ public class CustomLinkedList<E> extends CustomAbstractList<E> implements List<E
      */
     transient Node<E> tail;
 
+    /**
+     * Hash index of nodes by element, {@code null} unless indexed lookup mode is on.
+     */
+    private transient ElementIndex<Node<E>> lookupIndex;
+
+    /**
+     * Maximum number of unlinked nodes kept for reuse, 0 unless node pooling is on.
+     */
+    private int nodePoolCapacity;
+
+    /**
+     * Top of stack of unlinked nodes available for reuse, chained by {@code next} links.
+     */
+    private transient Node<E> freeNodes;
+
+    /**
+     * Number of nodes in stack of unlinked nodes.
+     */
+    private transient int freeNodesSize;
+
     /**
      * Constructs an empty list.
      */
@@ -72,19 +103,38 @@ public class CustomLinkedList<E> extends CustomAbstractList<E> implements List<E
      */
     @Override
     public boolean add(E element) {
-        final Node<E> last = tail;
-        final Node<E> newNode = new Node<>(element, last, null);
-        tail = newNode;
+        linkBefore(element, null);
 
-        if (last == null) {
-            head = newNode;
-        } else {
-            last.next = newNode;
-        }
+        return true;
+    }
 
-        size++;
+    /**
+     * Inserts element at specified position in list, shifting subsequent elements to the right.
+     *
+     * @param index   index at which element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException if index is negative or greater than size of list
+     *                                   ({@code index < 0 || index > size()})
+     */
+    @Override
+    public void add(int index, E element) {
+        checkPositionIndex(index);
 
-        return true;
+        linkBefore(element, index == size ? null : getNodeByIndex(index));
+    }
+
+    /**
+     * Replaces element at specified position in list with specified element.
+     *
+     * @param index   index of element to replace
+     * @param element element to be stored at specified position
+     * @return element previously at specified position
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    @Override
+    public E set(int index, E element) {
+        return replaceElement(getNodeByIndex(index), element);
     }
 
     /**
@@ -121,23 +171,250 @@ public class CustomLinkedList<E> extends CustomAbstractList<E> implements List<E
      */
     @Override
     public boolean remove(Object element) {
-        if (element == null) {
-            for (Node<E> node = head; node != null; node = node.next) {
-                if (node.element == null) {
-                    unlink(node);
-                    return true;
-                }
+        if (lookupIndex != null) {
+            final Node<E> node = lookupIndex.first(element);
+            if (node == null) {
+                return false;
             }
-        } else {
-            for (Node<E> node = head; node != null; node = node.next) {
-                if (element.equals(node.element)) {
-                    unlink(node);
-                    return true;
+            unlink(node);
+            return true;
+        }
+
+        final Node<E> node = firstNodeOf(element);
+        if (node != null) {
+            unlink(node);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Sorts list according to order induced by specified comparator.
+     * Uses stable bottom-up merge sort relinking nodes in place, without copying elements to array.
+     * Runs in {@code O(n log n)} time and constant additional space.
+     *
+     * @param c comparator to compare elements, {@code null} means natural ordering
+     * @throws ClassCastException if list contains elements that are not mutually comparable
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void sort(Comparator<? super E> c) {
+        if (size < 2) {
+            return;
+        }
+
+        final Comparator<? super E> comparator = c == null ? (Comparator) Comparator.naturalOrder() : c;
+
+        Node<E> first = head;
+        for (int runLength = 1; ; runLength *= 2) {
+            Node<E> left = first;
+            Node<E> last = null;
+            first = null;
+            int merges = 0;
+
+            while (left != null) {
+                merges++;
+
+                Node<E> right = left;
+                int leftLength = 0;
+                while (leftLength < runLength && right != null) {
+                    right = right.next;
+                    leftLength++;
                 }
+                int rightLength = runLength;
+
+                while (leftLength > 0 || (rightLength > 0 && right != null)) {
+                    Node<E> node;
+                    if (leftLength == 0) {
+                        node = right;
+                        right = right.next;
+                        rightLength--;
+                    } else if (rightLength == 0 || right == null
+                            || comparator.compare(left.element, right.element) <= 0) {
+                        node = left;
+                        left = left.next;
+                        leftLength--;
+                    } else {
+                        node = right;
+                        right = right.next;
+                        rightLength--;
+                    }
+
+                    if (last == null) {
+                        first = node;
+                    } else {
+                        last.next = node;
+                    }
+                    node.prev = last;
+                    last = node;
+                }
+
+                left = right;
+            }
+
+            last.next = null;
+
+            if (merges <= 1) {
+                head = first;
+                tail = last;
+                modCount++;
+                rebuildLookupIndex();
+                return;
             }
         }
+    }
 
-        return false;
+    /**
+     * Performs action for each element in order of index following links between nodes,
+     * without creating iterator.
+     *
+     * @param action action to be performed for each element
+     * @throws NullPointerException            if specified action is null
+     * @throws ConcurrentModificationException if list is structurally modified by action
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        final int expectedModCount = modCount;
+        for (Node<E> node = head; node != null && modCount == expectedModCount; node = node.next) {
+            action.accept(node.element);
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Performs action for each element together with its index, in order of index,
+     * following links between nodes instead of looking up each index from the end of list.
+     *
+     * @param action action to be performed for each element and its index
+     * @throws NullPointerException            if specified action is null
+     * @throws ConcurrentModificationException if list is structurally modified by action
+     */
+    @Override
+    public void forEachIndexed(ObjIntConsumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        final int expectedModCount = modCount;
+        int index = 0;
+        for (Node<E> node = head; node != null && modCount == expectedModCount; node = node.next) {
+            action.accept(node.element, index++);
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns iterator over elements in list following links between nodes,
+     * so full traversal takes linear time. Iterator fails fast on modifications made not through it.
+     *
+     * @return iterator over elements in list
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new NodeCursor();
+    }
+
+    /**
+     * Returns reusable cursor over elements in list following links between nodes.
+     *
+     * @return cursor positioned before the first element of list
+     */
+    @Override
+    public ListCursor<E> cursor() {
+        return new NodeCursor();
+    }
+
+    /**
+     * Cursor over nodes of list.
+     */
+    private class NodeCursor implements ListCursor<E> {
+        /**
+         * Node of element to be returned by subsequent call to next.
+         */
+        private Node<E> next = head;
+
+        /**
+         * Node of element returned by most recent call to next.
+         * Reset to {@code null} if this element is deleted by call to remove.
+         */
+        private Node<E> lastReturned;
+
+        /**
+         * Modification count of list expected by cursor.
+         */
+        private int expectedModCount = modCount;
+
+        /**
+         * Returns {@code true} if iteration has more elements.
+         *
+         * @return {@code true} if iteration has more elements
+         */
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        /**
+         * Returns the next element in iteration.
+         *
+         * @return the next element in iteration
+         * @throws NoSuchElementException          if iteration has no more elements
+         * @throws ConcurrentModificationException if list was modified not through cursor
+         */
+        public E next() {
+            checkForComodification();
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+
+            lastReturned = next;
+            next = next.next;
+
+            return lastReturned.element;
+        }
+
+        /**
+         * Removes from list the last element returned by cursor.
+         *
+         * @throws IllegalStateException          if {@code next} method has not
+         *                                         yet been called or {@code remove} method has already
+         *                                         been called after the last call to {@code next} method
+         * @throws ConcurrentModificationException if list was modified not through cursor
+         */
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+
+            unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Rewinds cursor to the first element of list.
+         */
+        public void reset() {
+            next = head;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Checks that list was not modified not through cursor.
+         */
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
     }
 
     /**
@@ -167,12 +444,161 @@ public class CustomLinkedList<E> extends CustomAbstractList<E> implements List<E
         return builder.toString();
     }
 
+    /**
+     * Turns indexed lookup mode on or off. In indexed mode list maintains hash index of its nodes
+     * by element, keeping nodes of duplicated element in list order, so {@link #contains(Object)}
+     * and {@link #remove(Object)} take constant expected time, at the cost of
+     * {@link ElementIndex#estimatedBytes()} of memory. Insertion of duplicate in the middle of list
+     * looks for the nearest node of the same element around it to register new node in order.
+     * Turning mode on builds index from current elements in linear time.
+     *
+     * @param indexed {@code true} to maintain index, {@code false} to drop it
+     */
+    public void setIndexed(boolean indexed) {
+        if (!indexed) {
+            lookupIndex = null;
+        } else if (lookupIndex == null) {
+            lookupIndex = new ElementIndex<>();
+            rebuildLookupIndex();
+        }
+    }
+
+    /**
+     * Registers all nodes in hash index in list order if indexed lookup mode is on.
+     */
+    private void rebuildLookupIndex() {
+        if (lookupIndex != null) {
+            lookupIndex.clear();
+            for (Node<E> node = head; node != null; node = node.next) {
+                lookupIndex.add(node.element, node);
+            }
+        }
+    }
+
+    /**
+     * Registers linked node in hash index at its position among nodes of the same element.
+     * Nodes are looked up in both directions from node, starting at its predecessor and
+     * at {@code following}, the nearest registered node after it, until node of the same element
+     * or end of list is met, so cost is proportional to distance to the nearest duplicate.
+     */
+    private void indexNode(Node<E> node, Node<E> following) {
+        final E element = node.element;
+        if (following == null || !lookupIndex.contains(element)) {
+            lookupIndex.add(element, node);
+            return;
+        }
+
+        for (Node<E> before = node.prev, after = following; ; before = before.prev, after = after.next) {
+            if (before == null) {
+                lookupIndex.addFirst(element, node);
+                return;
+            }
+            if (Objects.equals(element, before.element)) {
+                lookupIndex.add(element, node, before, false);
+                return;
+            }
+            if (after == null) {
+                lookupIndex.add(element, node);
+                return;
+            }
+            if (Objects.equals(element, after.element)) {
+                lookupIndex.add(element, node, after, true);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if indexed lookup mode is on.
+     *
+     * @return {@code true} if list maintains hash index of elements
+     */
+    public boolean isIndexed() {
+        return lookupIndex != null;
+    }
+
+    /**
+     * Sets maximum number of unlinked nodes kept by list for reuse. With node pooling on, removed nodes
+     * are returned to bounded pool and subsequent adds take nodes from it instead of allocating new ones,
+     * which cuts allocation rate of queue-like usage where elements are added and removed at the same pace.
+     * Pool is per list and as well as list itself is not thread-safe. Pooled nodes hold no elements,
+     * but they occupy memory until reused or until capacity is lowered. Node pooling is off by default.
+     *
+     * @param capacity maximum number of pooled nodes, 0 to turn node pooling off and release pooled nodes
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public void setNodePoolCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal node pool capacity = " + capacity);
+        }
+
+        nodePoolCapacity = capacity;
+        while (freeNodesSize > capacity) {
+            final Node<E> node = freeNodes;
+            freeNodes = node.next;
+            node.next = null;
+            freeNodesSize--;
+        }
+    }
+
+    /**
+     * Returns maximum number of unlinked nodes kept by list for reuse.
+     *
+     * @return capacity of node pool, 0 if node pooling is off
+     */
+    public int getNodePoolCapacity() {
+        return nodePoolCapacity;
+    }
+
+    /**
+     * Returns number of unlinked nodes currently available for reuse.
+     *
+     * @return number of pooled nodes
+     */
+    public int pooledNodes() {
+        return freeNodesSize;
+    }
+
+    /**
+     * Returns estimated number of bytes occupied by hash index, 0 unless indexed lookup mode is on.
+     *
+     * @return estimated footprint of index in bytes
+     */
+    public long indexBytes() {
+        return lookupIndex != null ? lookupIndex.estimatedBytes() : 0;
+    }
+
+    /**
+     * Returns immutable exactly-sized copy of list, elements are collected in single pass over nodes.
+     * Subsequent modifications of this list do not affect returned list.
+     *
+     * @return frozen copy of list
+     */
+    public FrozenList<E> freeze() {
+        return FrozenList.wrap(toArray());
+    }
+
+    /**
+     * Returns estimated memory footprint of list computed from number of nodes.
+     * Pooled nodes are counted in capacity and reported as wasted.
+     *
+     * @return footprint of list
+     */
+    public MemoryStats footprint() {
+        final long nodeBytes = MemoryStats.instanceBytes(Node.class);
+        final int capacity = size + freeNodesSize;
+
+        return new MemoryStats(MemoryStats.instanceBytes(getClass()) + capacity * nodeBytes,
+                indexBytes(), size, capacity, freeNodesSize * nodeBytes);
+    }
+
     /**
      * Returns (non-null) node at specified element index.
      */
     private Node<E> getNodeByIndex(int index) {
         checkElementIndex(index);
 
+        final long start = ListMetrics.ENABLED ? ListMetrics.beginTraversal(this) : 0L;
         Node<E> node;
         if (isElementInFirstHalf(index, size)) {
             node = head;
@@ -186,6 +612,29 @@ public class CustomLinkedList<E> extends CustomAbstractList<E> implements List<E
             }
         }
 
+        if (ListMetrics.ENABLED) {
+            ListMetrics.traversal(this, size, Math.min(index, size - 1 - index), System.nanoTime() - start);
+        }
+
+        return node;
+    }
+
+    /**
+     * Returns the first node containing specified element or {@code null} if list does not contain element.
+     */
+    private Node<E> firstNodeOf(Object element) {
+        final long start = ListMetrics.ENABLED ? ListMetrics.beginTraversal(this) : 0L;
+        int hops = 0;
+        Node<E> node = head;
+        while (node != null && !Objects.equals(element, node.element)) {
+            node = node.next;
+            hops++;
+        }
+
+        if (ListMetrics.ENABLED) {
+            ListMetrics.traversal(this, size, hops, System.nanoTime() - start);
+        }
+
         return node;
     }
 
@@ -222,60 +671,568 @@ public class CustomLinkedList<E> extends CustomAbstractList<E> implements List<E
             node.next = null;
         }
 
+        if (lookupIndex != null) {
+            lookupIndex.remove(element, node);
+        }
+
         node.element = null;
+        recycle(node);
 
         size--;
+        modCount++;
 
         return element;
     }
 
-    @Override
-    public E set(int index, E element) {
-        throw new UnsupportedOperationException();
+    /**
+     * Returns node with specified parameter values, reused from pool of unlinked nodes if possible.
+     */
+    private Node<E> newNode(E element, Node<E> prev, Node<E> next) {
+        final Node<E> node = freeNodes;
+        if (node == null) {
+            return new Node<>(element, prev, next);
+        }
+
+        freeNodes = node.next;
+        freeNodesSize--;
+
+        node.element = element;
+        node.prev = prev;
+        node.next = next;
+
+        return node;
     }
 
-    @Override
-    public void add(int index, E element) {
-        throw new UnsupportedOperationException();
+    /**
+     * Returns unlinked node with cleared element to pool unless pool is full.
+     */
+    private void recycle(Node<E> node) {
+        if (freeNodesSize < nodePoolCapacity) {
+            node.prev = null;
+            node.next = freeNodes;
+            freeNodes = node;
+            freeNodesSize++;
+        }
     }
 
+    /**
+     * Links element before non-null successor node or as last one if successor is {@code null}.
+     */
+    private Node<E> linkBefore(E element, Node<E> successor) {
+        final Node<E> predecessor = successor == null ? tail : successor.prev;
+        final Node<E> newNode = newNode(element, predecessor, successor);
+
+        if (predecessor == null) {
+            head = newNode;
+        } else {
+            predecessor.next = newNode;
+        }
+
+        if (successor == null) {
+            tail = newNode;
+        } else {
+            successor.prev = newNode;
+        }
+
+        size++;
+        modCount++;
+
+        if (lookupIndex != null) {
+            indexNode(newNode, successor);
+        }
+
+        return newNode;
+    }
+
+    /**
+     * Appends all elements of specified collection in order they are returned by its iterator.
+     *
+     * @param c collection containing elements to be added to list
+     * @return {@code true} if list changed as a result of the call
+     * @throws NullPointerException if specified collection is null
+     * @see #addAll(int, Collection)
+     */
     @Override
-    public int indexOf(Object o) {
-        throw new UnsupportedOperationException();
+    public boolean addAll(Collection<? extends E> c) {
+        return addAll(size, c);
     }
 
+    /**
+     * Inserts all elements of specified collection at specified position, shifting subsequent
+     * elements to the right. Chain of new nodes is built first and spliced into list at once;
+     * nodes of another {@code CustomLinkedList} are walked directly without intermediate array.
+     *
+     * @param index index at which to insert the first element from specified collection
+     * @param c     collection containing elements to be added to list
+     * @return {@code true} if list changed as a result of the call
+     * @throws IndexOutOfBoundsException if index is negative or greater than size of list
+     *                                   ({@code index < 0 || index > size()})
+     * @throws NullPointerException      if specified collection is null
+     */
     @Override
-    public int lastIndexOf(Object o) {
-        throw new UnsupportedOperationException();
+    public boolean addAll(int index, Collection<? extends E> c) {
+        checkPositionIndex(index);
+
+        Node<E> first = null;
+        Node<E> last = null;
+        int added = 0;
+
+        if (c instanceof CustomLinkedList && c != this) {
+            @SuppressWarnings("unchecked")
+            CustomLinkedList<? extends E> other = (CustomLinkedList<? extends E>) c;
+            for (Node<? extends E> node = other.head; node != null; node = node.next) {
+                final Node<E> newNode = newNode(node.element, last, null);
+                if (last == null) {
+                    first = newNode;
+                } else {
+                    last.next = newNode;
+                }
+                last = newNode;
+                added++;
+            }
+        } else {
+            for (Object element : c.toArray()) {
+                @SuppressWarnings("unchecked")
+                final Node<E> newNode = newNode((E) element, last, null);
+                if (last == null) {
+                    first = newNode;
+                } else {
+                    last.next = newNode;
+                }
+                last = newNode;
+                added++;
+            }
+        }
+
+        if (added == 0) {
+            return false;
+        }
+
+        linkChainBefore(first, last, added, index == size ? null : getNodeByIndex(index));
+
+        return true;
     }
 
+    /**
+     * Moves all elements of specified list to the end of this list by relinking its nodes,
+     * no node is allocated or copied. Specified list becomes empty.
+     * Takes constant time unless this list is in indexed lookup mode, in which case moved
+     * nodes are registered in its index in linear time of their number.
+     *
+     * @param other list whose elements are to be moved to this list
+     * @throws IllegalArgumentException if specified list is this list
+     * @throws NullPointerException     if specified list is null
+     * @see #splice(int, CustomLinkedList)
+     */
+    public void transferFrom(CustomLinkedList<? extends E> other) {
+        splice(size, other);
+    }
+
+    /**
+     * Moves all elements of specified list into this list at specified position by relinking its nodes,
+     * shifting subsequent elements to the right. Specified list becomes empty.
+     * Takes constant time at both ends of list, otherwise time of walk to position from the nearest end;
+     * in indexed lookup mode moved nodes are additionally registered in index.
+     *
+     * @param index index at which to insert the first element of specified list
+     * @param other list whose elements are to be moved to this list
+     * @throws IndexOutOfBoundsException if index is negative or greater than size of list
+     *                                   ({@code index < 0 || index > size()})
+     * @throws IllegalArgumentException  if specified list is this list
+     * @throws NullPointerException      if specified list is null
+     */
+    @SuppressWarnings("unchecked")
+    public void splice(int index, CustomLinkedList<? extends E> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot splice list into itself");
+        }
+        checkPositionIndex(index);
+
+        if (other.size == 0) {
+            return;
+        }
+
+        final Node<E> first = (Node<E>) other.head;
+        final Node<E> last = (Node<E>) other.tail;
+        final int count = other.size;
+        other.detachAll();
+
+        linkChainBefore(first, last, count, index == size ? null : getNodeByIndex(index));
+    }
+
+    /**
+     * Splits list at specified position: elements from {@code index} to the end are moved
+     * by relinking to returned new list, elements before {@code index} remain in this list.
+     * Takes time of walk to position from the nearest end, no node is allocated or copied.
+     * Returned list inherits indexed lookup mode of this list, then moved nodes are re-registered
+     * in its index in linear time of their number.
+     *
+     * @param index index of the first element to be moved to returned list
+     * @return new list containing tail of this list starting at specified position
+     * @throws IndexOutOfBoundsException if index is negative or greater than size of list
+     *                                   ({@code index < 0 || index > size()})
+     */
+    public CustomLinkedList<E> splitAt(int index) {
+        checkPositionIndex(index);
+
+        final CustomLinkedList<E> suffix = new CustomLinkedList<>();
+        if (index == size) {
+            suffix.setIndexed(isIndexed());
+            return suffix;
+        }
+
+        final Node<E> first = getNodeByIndex(index);
+        final Node<E> predecessor = first.prev;
+
+        suffix.head = first;
+        suffix.tail = tail;
+        suffix.size = size - index;
+        first.prev = null;
+
+        tail = predecessor;
+        if (predecessor == null) {
+            head = null;
+        } else {
+            predecessor.next = null;
+        }
+        size = index;
+        modCount++;
+
+        if (lookupIndex != null) {
+            for (Node<E> node = first; node != null; node = node.next) {
+                lookupIndex.remove(node.element, node);
+            }
+            suffix.setIndexed(true);
+        }
+
+        return suffix;
+    }
+
+    /**
+     * Forgets all nodes without unlinking them one by one, so they can be relinked into another list.
+     */
+    private void detachAll() {
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+
+        if (lookupIndex != null) {
+            lookupIndex.clear();
+        }
+    }
+
+    /**
+     * Links chain of {@code count} nodes from {@code first} to {@code last} before non-null successor node
+     * or at the end of list if successor is {@code null}.
+     */
+    private void linkChainBefore(Node<E> first, Node<E> last, int count, Node<E> successor) {
+        final Node<E> predecessor = successor == null ? tail : successor.prev;
+        first.prev = predecessor;
+        last.next = successor;
+
+        if (predecessor == null) {
+            head = first;
+        } else {
+            predecessor.next = first;
+        }
+
+        if (successor == null) {
+            tail = last;
+        } else {
+            successor.prev = last;
+        }
+
+        size += count;
+        modCount++;
+
+        if (lookupIndex != null) {
+            for (Node<E> node = first; node != successor; node = node.next) {
+                indexNode(node, successor);
+            }
+        }
+    }
+
+    /**
+     * Replaces element of non-null node and returns previous one.
+     */
+    private E replaceElement(Node<E> node, E element) {
+        final E oldElement = node.element;
+        node.element = element;
+
+        if (lookupIndex != null) {
+            lookupIndex.remove(oldElement, node);
+            indexNode(node, node.next);
+        }
+
+        return oldElement;
+    }
+
+    /**
+     * Returns view of portion of list between {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+     * View is a window between two nodes of this list: it copies no elements, writes through to list
+     * and supports structural modifications. Structural modification of list made not through view
+     * makes view unusable, subsequent access throws {@link ConcurrentModificationException}.
+     *
+     * @param fromIndex low endpoint (inclusive) of view
+     * @param toIndex   high endpoint (exclusive) of view
+     * @return view of specified range within list
+     * @throws IndexOutOfBoundsException if endpoint index is out of range
+     *                                   ({@code fromIndex < 0 || toIndex > size() || fromIndex > toIndex})
+     */
     @Override
-    public ListIterator<E> listIterator() {
-        throw new UnsupportedOperationException();
+    public List<E> subList(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+
+        if (fromIndex == toIndex) {
+            return new SubList(null, null, fromIndex, 0);
+        }
+
+        Node<E> first = getNodeByIndex(fromIndex);
+        Node<E> last = first;
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            last = last.next;
+        }
+
+        return new SubList(first, last, fromIndex, toIndex - fromIndex);
     }
 
+    /**
+     * Window of {@code size} nodes from {@code first} to {@code last} node inclusive.
+     */
+    private class SubList extends AbstractList<E> {
+
+        /**
+         * The first node of view, {@code null} if view is empty.
+         */
+        private Node<E> first;
+
+        /**
+         * The last node of view, {@code null} if view is empty.
+         */
+        private Node<E> last;
+
+        /**
+         * Index of the first element of view in list, used to place element into empty view.
+         */
+        private final int offset;
+
+        /**
+         * Number of elements in view.
+         */
+        private int size;
+
+        /**
+         * Expected value of {@code modCount} of list.
+         */
+        private int expectedModCount;
+
+        SubList(Node<E> first, Node<E> last, int offset, int size) {
+            this.first = first;
+            this.last = last;
+            this.offset = offset;
+            this.size = size;
+            this.expectedModCount = CustomLinkedList.this.modCount;
+        }
+
+        @Override
+        public E get(int index) {
+            return node(index).element;
+        }
+
+        @Override
+        public E set(int index, E element) {
+            return replaceElement(node(index), element);
+        }
+
+        @Override
+        public void add(int index, E element) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Position index = " + index + ", view size = " + size);
+            }
+            checkForComodification();
+
+            final Node<E> successor;
+            if (index < size) {
+                successor = node(index);
+            } else if (last != null) {
+                successor = last.next;
+            } else {
+                successor = offset == CustomLinkedList.this.size ? null : getNodeByIndex(offset);
+            }
+
+            final Node<E> newNode = linkBefore(element, successor);
+
+            if (index == 0) {
+                first = newNode;
+            }
+            if (index == size) {
+                last = newNode;
+            }
+
+            expectedModCount = CustomLinkedList.this.modCount;
+            size++;
+            modCount++;
+        }
+
+        @Override
+        public E remove(int index) {
+            return removeNode(node(index));
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+
+            return size;
+        }
+
+        /**
+         * Returns iterator walking nodes of view.
+         */
+        @Override
+        public Iterator<E> iterator() {
+            checkForComodification();
+
+            return new Iterator<E>() {
+                private Node<E> next = first;
+                private Node<E> lastReturned;
+                private int nextIndex = 0;
+
+                public boolean hasNext() {
+                    return nextIndex < size;
+                }
+
+                public E next() {
+                    checkForComodification();
+                    if (nextIndex >= size) {
+                        throw new NoSuchElementException();
+                    }
+
+                    lastReturned = next;
+                    next = next.next;
+                    nextIndex++;
+
+                    return lastReturned.element;
+                }
+
+                public void remove() {
+                    if (lastReturned == null) {
+                        throw new IllegalStateException();
+                    }
+                    checkForComodification();
+
+                    removeNode(lastReturned);
+                    lastReturned = null;
+                    nextIndex--;
+                }
+            };
+        }
+
+        /**
+         * Unlinks node of view from list, adjusts bounds of view and returns removed element.
+         */
+        private E removeNode(Node<E> node) {
+            if (size == 1) {
+                first = null;
+                last = null;
+            } else if (node == first) {
+                first = node.next;
+            } else if (node == last) {
+                last = node.prev;
+            }
+
+            final E element = unlink(node);
+            expectedModCount = CustomLinkedList.this.modCount;
+            size--;
+            modCount++;
+
+            return element;
+        }
+
+        /**
+         * Returns node at specified index of view walking from the closer end of view.
+         */
+        private Node<E> node(int index) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
+
+            Node<E> node;
+            if (isElementInFirstHalf(index, size)) {
+                node = first;
+                for (int i = 0; i < index; i++) {
+                    node = node.next;
+                }
+            } else {
+                node = last;
+                for (int i = size - 1; i > index; i--) {
+                    node = node.prev;
+                }
+            }
+
+            return node;
+        }
+
+        /**
+         * Checks that list has not been structurally modified not through this view.
+         */
+        private void checkForComodification() {
+            if (CustomLinkedList.this.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Returns index of the first occurrence of specified element with the lowest index
+     * in list or -1 if this list does not contain the element.
+     * Absent element is detected in constant expected time in indexed lookup mode.
+     *
+     * @param o element to search for
+     * @return index of the first occurrence of specified element in
+     * list or -1 if list does not contain element
+     */
     @Override
-    public ListIterator<E> listIterator(int index) {
-        throw new UnsupportedOperationException();
+    public int indexOf(Object o) {
+        if (lookupIndex != null && !lookupIndex.contains(o)) {
+            return -1;
+        }
+
+        int i = 0;
+        if (o == null) {
+            for (Node<E> node = head; node != null; node = node.next, i++) {
+                if (node.element == null) {
+                    return i;
+                }
+            }
+        } else {
+            for (Node<E> node = head; node != null; node = node.next, i++) {
+                if (o.equals(node.element)) {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
     }
 
     @Override
-    public List<E> subList(int fromIndex, int toIndex) {
+    public int lastIndexOf(Object o) {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    public boolean containsAll(Collection<?> c) {
+    public ListIterator<E> listIterator() {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    public boolean addAll(Collection<? extends E> c) {
+    public ListIterator<E> listIterator(int index) {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    public boolean addAll(int index, Collection<? extends E> c) {
+    public boolean containsAll(Collection<?> c) {
         throw new UnsupportedOperationException();
     }
 
@@ -294,20 +1251,59 @@ public class CustomLinkedList<E> extends CustomAbstractList<E> implements List<E
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns {@code true} if list contains specified element.
+     * Takes constant expected time in indexed lookup mode.
+     *
+     * @param o element whose presence in list is to be tested
+     * @return {@code true} if list contains specified element
+     */
     @Override
     public boolean contains(Object o) {
-        throw new UnsupportedOperationException();
+        return lookupIndex != null ? lookupIndex.contains(o) : indexOf(o) >= 0;
     }
 
+    /**
+     * Returns array containing all elements of list in proper sequence.
+     *
+     * @return array containing all elements of list
+     */
     @Override
     public Object[] toArray() {
-//        return new Object[0];
-        throw new UnsupportedOperationException();
+        Object[] array = new Object[size];
+        int i = 0;
+        for (Node<E> node = head; node != null; node = node.next) {
+            array[i++] = node.element;
+        }
+
+        return array;
     }
 
+    /**
+     * Returns array containing all elements of list in proper sequence,
+     * runtime type of returned array is that of specified array.
+     *
+     * @param a array into which elements of list are to be stored if it is big enough
+     * @return array containing elements of list
+     * @throws ArrayStoreException  if runtime type of specified array is not a supertype of every element
+     * @throws NullPointerException if specified array is null
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T[] toArray(T[] a) {
-        throw new UnsupportedOperationException();
+        if (a.length < size) {
+            a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        }
+
+        int i = 0;
+        for (Node<E> node = head; node != null; node = node.next) {
+            a[i++] = (T) node.element;
+        }
+        if (a.length > size) {
+            a[size] = null;
+        }
+
+        return a;
     }
 
 }
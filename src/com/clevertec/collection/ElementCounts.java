@@ -0,0 +1,127 @@
+package com.clevertec.collection;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hash index mapping list elements to numbers of their occurrences in list.
+ * Used by array-based custom lists in indexed lookup mode, whose occurrences have no stable
+ * reference since positions shift on every removal, to answer membership tests and reject
+ * absent elements in constant expected time instead of linear scan.
+ * Every distinct element costs one hash map entry, counts up to {@value #CACHED_COUNT}
+ * are cached {@link Integer} instances. Permits {@code null} elements.
+ * Not thread-safe, owning list is responsible for synchronization.
+ *
+ * @see ElementIndex
+ */
+public class ElementCounts {
+
+    /**
+     * The greatest count guaranteed to be boxed to cached {@link Integer} instance.
+     */
+    private static final int CACHED_COUNT = 127;
+
+    /**
+     * Estimated size of {@link Integer} instance in bytes.
+     */
+    private static final int INTEGER_BYTES = 16;
+
+    /**
+     * Element to number of its occurrences.
+     */
+    private final Map<Object, Integer> counts = new HashMap<>();
+
+    /**
+     * Number of registered occurrences of all elements.
+     */
+    private int size;
+
+    /**
+     * Registers new occurrence of element.
+     *
+     * @param element element of list
+     */
+    public void add(Object element) {
+        counts.merge(element, 1, Integer::sum);
+        size++;
+    }
+
+    /**
+     * Unregisters one occurrence of element.
+     *
+     * @param element element of list
+     * @return {@code true} if element was registered
+     */
+    public boolean remove(Object element) {
+        final Integer count = counts.get(element);
+
+        if (count == null) {
+            return false;
+        }
+        if (count == 1) {
+            counts.remove(element);
+        } else {
+            counts.put(element, count - 1);
+        }
+
+        size--;
+
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if element has at least one registered occurrence.
+     *
+     * @param element element to look up
+     * @return {@code true} if element is registered
+     */
+    public boolean contains(Object element) {
+        return counts.containsKey(element);
+    }
+
+    /**
+     * Returns number of registered occurrences of element.
+     *
+     * @param element element to look up
+     * @return number of occurrences
+     */
+    public int count(Object element) {
+        return counts.getOrDefault(element, 0);
+    }
+
+    /**
+     * Unregisters all occurrences of all elements.
+     */
+    public void clear() {
+        counts.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns number of registered occurrences of all elements.
+     *
+     * @return number of occurrences
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns estimated number of bytes occupied by index structures, excluding elements themselves.
+     * Assumes compressed references and default load factor of hash map.
+     *
+     * @return estimated footprint of index in bytes
+     */
+    public long estimatedBytes() {
+        long bytes = ElementIndex.mapBytes(counts.size());
+
+        for (int count : counts.values()) {
+            if (count > CACHED_COUNT) {
+                bytes += INTEGER_BYTES;
+            }
+        }
+
+        return bytes;
+    }
+
+}
@@ -0,0 +1,284 @@
+package com.clevertec.collection;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hash index mapping list elements to references of their occurrences in list,
+ * e.g. nodes of linked list. Used by linked custom lists in indexed lookup mode to answer membership
+ * tests and find element to remove in constant expected time instead of linear scan.
+ * Element with single occurrence costs one hash map entry, only duplicated elements
+ * keep additional deque of references. References of duplicated element are kept in list order
+ * by owning list, which registers every occurrence at its position relative to the others,
+ * so {@link #first(Object)} returns the first occurrence in list. Permits {@code null} elements.
+ * Not thread-safe, owning list is responsible for synchronization.
+ *
+ * @param <R> type of references to occurrences
+ * @see ElementCounts
+ */
+public class ElementIndex<R> {
+
+    /**
+     * Estimated size of hash map entry in bytes: header, hash, key, value and next references.
+     */
+    private static final int ENTRY_BYTES = 32;
+
+    /**
+     * Estimated size of hash map table slot in bytes.
+     */
+    private static final int SLOT_BYTES = 4;
+
+    /**
+     * Estimated size of deque of references in bytes excluding its array.
+     */
+    private static final int DEQUE_BYTES = 24;
+
+    /**
+     * Element to either single reference or {@link Occurrences} of duplicated element.
+     */
+    private final Map<Object, Object> occurrences = new HashMap<>();
+
+    /**
+     * Number of registered occurrences of all elements.
+     */
+    private int size;
+
+    /**
+     * References to occurrences of duplicated element in list order.
+     */
+    private static class Occurrences extends ArrayDeque<Object> {
+        Occurrences() {
+            super(2);
+        }
+
+        /**
+         * Inserts reference right before or after registered neighbour reference by single rotation
+         * of deque, keeping order of other references.
+         */
+        void insert(Object reference, Object neighbour, boolean before) {
+            boolean found = false;
+            for (int i = 0, n = size(); i < n; i++) {
+                Object current = pollFirst();
+                boolean isNeighbour = !found && current.equals(neighbour);
+                if (isNeighbour && before) {
+                    addLast(reference);
+                }
+                addLast(current);
+                if (isNeighbour && !before) {
+                    addLast(reference);
+                }
+                found |= isNeighbour;
+            }
+
+            if (!found) {
+                throw new IllegalArgumentException("Neighbour occurrence is not registered");
+            }
+        }
+    }
+
+    /**
+     * Registers new occurrence of element following all its registered occurrences.
+     *
+     * @param element   element of list
+     * @param reference non-null reference to occurrence of element
+     */
+    public void add(Object element, R reference) {
+        Object current = occurrences.putIfAbsent(element, reference);
+
+        if (current instanceof Occurrences) {
+            ((Occurrences) current).addLast(reference);
+        } else if (current != null) {
+            Occurrences duplicates = new Occurrences();
+            duplicates.addLast(current);
+            duplicates.addLast(reference);
+            occurrences.put(element, duplicates);
+        }
+
+        size++;
+    }
+
+    /**
+     * Registers new occurrence of element preceding all its registered occurrences.
+     *
+     * @param element   element of list
+     * @param reference non-null reference to occurrence of element
+     */
+    public void addFirst(Object element, R reference) {
+        Object current = occurrences.putIfAbsent(element, reference);
+
+        if (current instanceof Occurrences) {
+            ((Occurrences) current).addFirst(reference);
+        } else if (current != null) {
+            Occurrences duplicates = new Occurrences();
+            duplicates.addLast(reference);
+            duplicates.addLast(current);
+            occurrences.put(element, duplicates);
+        }
+
+        size++;
+    }
+
+    /**
+     * Registers new occurrence of element right before or after its registered occurrence.
+     * Takes time linear in number of occurrences of element.
+     *
+     * @param element   element of list
+     * @param reference non-null reference to new occurrence of element
+     * @param neighbour reference to registered occurrence adjacent to new one among occurrences of element
+     * @param before    {@code true} if new occurrence precedes neighbour, {@code false} if it follows
+     * @throws IllegalArgumentException if neighbour is not registered occurrence of element
+     */
+    public void add(Object element, R reference, R neighbour, boolean before) {
+        Object current = occurrences.get(element);
+
+        if (current instanceof Occurrences) {
+            ((Occurrences) current).insert(reference, neighbour, before);
+        } else if (current != null && current.equals(neighbour)) {
+            Occurrences duplicates = new Occurrences();
+            duplicates.addLast(before ? reference : current);
+            duplicates.addLast(before ? current : reference);
+            occurrences.put(element, duplicates);
+        } else {
+            throw new IllegalArgumentException("Neighbour occurrence is not registered");
+        }
+
+        size++;
+    }
+
+    /**
+     * Unregisters occurrence of element with specified reference, compared by {@code equals}.
+     *
+     * @param element   element of list
+     * @param reference reference to occurrence of element
+     * @return {@code true} if occurrence was registered
+     */
+    public boolean remove(Object element, R reference) {
+        Object current = occurrences.get(element);
+
+        if (current instanceof Occurrences) {
+            Occurrences duplicates = (Occurrences) current;
+            if (!duplicates.removeFirstOccurrence(reference)) {
+                return false;
+            }
+            if (duplicates.size() == 1) {
+                occurrences.put(element, duplicates.peekFirst());
+            }
+        } else if (current != null && current.equals(reference)) {
+            occurrences.remove(element);
+        } else {
+            return false;
+        }
+
+        size--;
+
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if element has at least one registered occurrence.
+     *
+     * @param element element to look up
+     * @return {@code true} if element is registered
+     */
+    public boolean contains(Object element) {
+        return occurrences.containsKey(element);
+    }
+
+    /**
+     * Returns number of registered occurrences of element.
+     *
+     * @param element element to look up
+     * @return number of occurrences
+     */
+    public int count(Object element) {
+        Object current = occurrences.get(element);
+
+        if (current instanceof Occurrences) {
+            return ((Occurrences) current).size();
+        }
+
+        return current == null ? 0 : 1;
+    }
+
+    /**
+     * Returns reference to the first occurrence of element in list order.
+     *
+     * @param element element to look up
+     * @return reference to occurrence or {@code null} if element is not registered
+     */
+    @SuppressWarnings("unchecked")
+    public R first(Object element) {
+        Object current = occurrences.get(element);
+
+        if (current instanceof Occurrences) {
+            return (R) ((Occurrences) current).peekFirst();
+        }
+
+        return (R) current;
+    }
+
+    /**
+     * Returns reference to the last occurrence of element in list order.
+     *
+     * @param element element to look up
+     * @return reference to occurrence or {@code null} if element is not registered
+     */
+    @SuppressWarnings("unchecked")
+    public R last(Object element) {
+        Object current = occurrences.get(element);
+
+        if (current instanceof Occurrences) {
+            return (R) ((Occurrences) current).peekLast();
+        }
+
+        return (R) current;
+    }
+
+    /**
+     * Unregisters all occurrences of all elements.
+     */
+    public void clear() {
+        occurrences.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns number of registered occurrences of all elements.
+     *
+     * @return number of occurrences
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns estimated number of bytes occupied by index structures, excluding elements and references
+     * themselves. Assumes compressed references and default load factor of hash map.
+     *
+     * @return estimated footprint of index in bytes
+     */
+    public long estimatedBytes() {
+        long bytes = mapBytes(occurrences.size());
+
+        for (Object current : occurrences.values()) {
+            if (current instanceof Occurrences) {
+                int duplicates = ((Occurrences) current).size();
+                bytes += DEQUE_BYTES + (long) Integer.highestOneBit(duplicates * 2) * MemoryStats.REFERENCE_BYTES;
+            }
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Returns estimated number of bytes occupied by entries and table of hash map
+     * with specified number of keys and default load factor.
+     */
+    static long mapBytes(int keys) {
+        long tableSlots = Integer.highestOneBit(Math.max(1, (int) (keys / 0.75f)) * 2 - 1);
+
+        return keys * (long) ENTRY_BYTES + tableSlots * SLOT_BYTES;
+    }
+
+}
@@ -0,0 +1,326 @@
+package com.clevertec.collection;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Immutable exactly-sized list produced by {@code freeze()} and {@code snapshot()} methods of custom lists.
+ * Lists of 0, 1 and 2 elements are represented by dedicated classes holding elements in fields,
+ * larger lists hold elements in array of exact length. Since frozen list never changes,
+ * it can be shared between threads freely without locking.
+ * All mutating methods throw {@link UnsupportedOperationException}.
+ * Permits {@code null}.
+ *
+ * @param <E> type of contained list elements
+ * @see List#copyOf(java.util.Collection)
+ */
+public abstract class FrozenList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+
+    /**
+     * Shared empty frozen list.
+     */
+    private static final FrozenList<?> EMPTY = new Empty<>();
+
+    /**
+     * Constructor for subclasses.
+     */
+    FrozenList() {
+        super();
+    }
+
+    /**
+     * Returns empty frozen list.
+     *
+     * @param <E> type of list elements
+     * @return empty frozen list
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> FrozenList<E> of() {
+        return (FrozenList<E>) EMPTY;
+    }
+
+    /**
+     * Returns frozen list containing the first {@code length} elements of specified array.
+     * Array is copied, at most once, so it may be modified afterwards.
+     *
+     * @param source array containing elements
+     * @param length number of elements to copy
+     * @param <E>    type of list elements
+     * @return frozen list containing specified elements
+     * @throws IndexOutOfBoundsException if length is negative or greater than length of array
+     * @throws NullPointerException      if specified array is null
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> FrozenList<E> copyOf(Object[] source, int length) {
+        Objects.checkFromToIndex(0, length, source.length);
+
+        switch (length) {
+            case 0:
+                return of();
+            case 1:
+                return new One<>((E) source[0]);
+            case 2:
+                return new Two<>((E) source[0], (E) source[1]);
+            default:
+                return new Many<>(Arrays.copyOf(source, length, Object[].class));
+        }
+    }
+
+    /**
+     * Returns builder collecting specified number of elements into frozen list without copying them again.
+     * Intended for lists copying their elements under lock, see {@link Builder}.
+     *
+     * @param size number of elements to be added to builder
+     * @param <E>  type of list elements
+     * @return builder of frozen list
+     * @throws IllegalArgumentException if size is negative
+     */
+    public static <E> Builder<E> builder(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Illegal size: " + size);
+        }
+
+        return new Builder<>(size);
+    }
+
+    /**
+     * Returns frozen list wrapping specified array without copying it.
+     * Caller must not modify array afterwards.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> FrozenList<E> wrap(Object[] elements) {
+        switch (elements.length) {
+            case 0:
+                return of();
+            case 1:
+                return new One<>((E) elements[0]);
+            case 2:
+                return new Two<>((E) elements[0], (E) elements[1]);
+            default:
+                return new Many<>(elements);
+        }
+    }
+
+    /**
+     * Single-use builder of frozen list of known size. Elements are stored in array of exact size
+     * which is handed over to built list, so they are copied once. Array never leaves builder and
+     * builder can not be used after {@link #build()}, so built list can not be modified through it.
+     * Not thread-safe.
+     *
+     * @param <E> type of list elements
+     */
+    public static final class Builder<E> {
+
+        /**
+         * Elements added so far, {@code null} once list is built.
+         */
+        private Object[] elements;
+
+        /**
+         * Number of added elements.
+         */
+        private int size;
+
+        private Builder(int capacity) {
+            this.elements = new Object[capacity];
+        }
+
+        /**
+         * Appends element to list being built.
+         *
+         * @param element element to append
+         * @return this builder
+         * @throws IllegalStateException if list is already built or builder is full
+         */
+        public Builder<E> add(E element) {
+            final Object[] array = elements;
+            if (array == null) {
+                throw new IllegalStateException("Frozen list is already built");
+            }
+            if (size == array.length) {
+                throw new IllegalStateException("Builder is full, size = " + size);
+            }
+
+            array[size++] = element;
+
+            return this;
+        }
+
+        /**
+         * Returns frozen list of added elements and disables builder. Copies elements only
+         * if fewer elements were added than declared.
+         *
+         * @return frozen list of added elements
+         * @throws IllegalStateException if list is already built
+         */
+        public FrozenList<E> build() {
+            final Object[] array = elements;
+            if (array == null) {
+                throw new IllegalStateException("Frozen list is already built");
+            }
+            elements = null;
+
+            return size == array.length ? wrap(array) : copyOf(array, size);
+        }
+    }
+
+    /**
+     * Frozen list without elements.
+     */
+    private static final class Empty<E> extends FrozenList<E> {
+
+        @Override
+        public E get(int index) {
+            throw new IndexOutOfBoundsException("Element index = " + index + ", list size = 0");
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public void forEach(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+        }
+
+        @Override
+        public Object[] toArray() {
+            return new Object[0];
+        }
+    }
+
+    /**
+     * Frozen list of single element.
+     */
+    private static final class One<E> extends FrozenList<E> {
+
+        private final E first;
+
+        One(E first) {
+            this.first = first;
+        }
+
+        @Override
+        public E get(int index) {
+            if (index != 0) {
+                throw new IndexOutOfBoundsException("Element index = " + index + ", list size = 1");
+            }
+
+            return first;
+        }
+
+        @Override
+        public int size() {
+            return 1;
+        }
+
+        @Override
+        public void forEach(Consumer<? super E> action) {
+            action.accept(first);
+        }
+
+        @Override
+        public Object[] toArray() {
+            return new Object[]{first};
+        }
+    }
+
+    /**
+     * Frozen list of two elements.
+     */
+    private static final class Two<E> extends FrozenList<E> {
+
+        private final E first;
+
+        private final E second;
+
+        Two(E first, E second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public E get(int index) {
+            if (index == 0) {
+                return first;
+            }
+            if (index == 1) {
+                return second;
+            }
+
+            throw new IndexOutOfBoundsException("Element index = " + index + ", list size = 2");
+        }
+
+        @Override
+        public int size() {
+            return 2;
+        }
+
+        @Override
+        public void forEach(Consumer<? super E> action) {
+            action.accept(first);
+            action.accept(second);
+        }
+
+        @Override
+        public Object[] toArray() {
+            return new Object[]{first, second};
+        }
+    }
+
+    /**
+     * Frozen list of elements stored in array of exact length.
+     */
+    private static final class Many<E> extends FrozenList<E> {
+
+        private final Object[] elements;
+
+        Many(Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            return (E) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+
+            for (Object element : elements) {
+                action.accept((E) element);
+            }
+        }
+
+        @Override
+        public Object[] toArray() {
+            return elements.clone();
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            for (int i = 0; i < elements.length; i++) {
+                if (Objects.equals(o, elements[i])) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.clevertec.collection;
+
+/**
+ * Scans and reductions over ranges of {@code int} arrays used by {@link CustomIntArrayList}.
+ * This class is scalar implementation processing one value per iteration;
+ * {@link #INSTANCE} is replaced by {@link VectorIntKernels} processing whole vector lanes
+ * when module {@value #VECTOR_MODULE} is present in boot layer, e.g. added by
+ * {@code --add-modules jdk.incubator.vector}. Selected once at class initialization,
+ * so calls through {@link #INSTANCE} are monomorphic and inlined by JIT.
+ * Ranges are not checked, callers pass bounds within array.
+ */
+class IntKernels {
+
+    /**
+     * Name of module providing vector API.
+     */
+    static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Name of class of vector implementation, loaded reflectively so that this class links without vector API.
+     */
+    private static final String VECTOR_KERNELS_CLASS = "com.clevertec.collection.VectorIntKernels";
+
+    /**
+     * Implementation used by lists, vector one if vector API is available, scalar one otherwise.
+     */
+    static final IntKernels INSTANCE = load();
+
+    /**
+     * Returns vector implementation if module {@value #VECTOR_MODULE} is present and usable, scalar one otherwise.
+     */
+    private static IntKernels load() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return (IntKernels) Class.forName(VECTOR_KERNELS_CLASS).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError ex) {
+                // vector API is not usable on this platform, fall back to scalar loops
+            }
+        }
+
+        return new IntKernels();
+    }
+
+    /**
+     * Returns {@code true} if implementation processes values by vector lanes.
+     *
+     * @return {@code true} for vector implementation
+     */
+    boolean vectorized() {
+        return false;
+    }
+
+    /**
+     * Returns index of the first occurrence of value in range or -1 if range does not contain it.
+     *
+     * @param values array to scan
+     * @param from   index of the first value of range
+     * @param to     index after the last value of range
+     * @param value  value to search for
+     * @return index of the first occurrence of value or -1
+     */
+    int indexOf(int[] values, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns number of occurrences of value in range.
+     *
+     * @param values array to scan
+     * @param from   index of the first value of range
+     * @param to     index after the last value of range
+     * @param value  value to count
+     * @return number of occurrences of value
+     */
+    int count(int[] values, int from, int to, int value) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += values[i] == value ? 1 : 0;
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns sum of values in range without overflow of {@code int}.
+     *
+     * @param values array to scan
+     * @param from   index of the first value of range
+     * @param to     index after the last value of range
+     * @return sum of values, 0 for empty range
+     */
+    long sum(int[] values, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Returns minimum value in range.
+     *
+     * @param values array to scan
+     * @param from   index of the first value of range
+     * @param to     index after the last value of range
+     * @return minimum value, {@link Integer#MAX_VALUE} for empty range
+     */
+    int min(int[] values, int from, int to) {
+        int min = Integer.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, values[i]);
+        }
+
+        return min;
+    }
+
+    /**
+     * Returns maximum value in range.
+     *
+     * @param values array to scan
+     * @param from   index of the first value of range
+     * @param to     index after the last value of range
+     * @return maximum value, {@link Integer#MIN_VALUE} for empty range
+     */
+    int max(int[] values, int from, int to) {
+        int max = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, values[i]);
+        }
+
+        return max;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.clevertec.collection;
+
+import java.util.Iterator;
+
+/**
+ * Reusable iterator over list elements. Unlike plain iterator, which is created anew for every traversal,
+ * cursor can be obtained from list once, kept by caller and rewound by {@link #reset()},
+ * so repeated traversals of the same list in hot loops do not allocate.
+ *
+ * @param <E> type of iterated elements
+ */
+public interface ListCursor<E> extends Iterator<E> {
+
+    /**
+     * Rewinds cursor to the first element of list as it is at the moment of call.
+     * Forgets the last returned element, so {@code remove} is not allowed until {@code next} is called.
+     */
+    void reset();
+
+}
@@ -0,0 +1,225 @@
+package com.clevertec.collection;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Estimated memory footprint of list, computed from its layout without walking elements.
+ * Accounts list object itself, its backing arrays or nodes and hash index, but not elements
+ * referenced by list and not internal structures of locks. Estimates assume 64-bit JVM with
+ * compressed references and compressed class pointers: 12-byte object header, 16-byte array header,
+ * 4-byte references and 8-byte object alignment.
+ */
+public final class MemoryStats {
+
+    /**
+     * Size of object header in bytes.
+     */
+    public static final int OBJECT_HEADER_BYTES = 12;
+
+    /**
+     * Size of array header in bytes, including length.
+     */
+    public static final int ARRAY_HEADER_BYTES = 16;
+
+    /**
+     * Size of reference in bytes.
+     */
+    public static final int REFERENCE_BYTES = 4;
+
+    /**
+     * Alignment of objects in bytes.
+     */
+    private static final int OBJECT_ALIGNMENT = 8;
+
+    /**
+     * Cached shallow sizes of instances by class.
+     */
+    private static final ClassValue<Long> INSTANCE_BYTES = new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            long bytes = OBJECT_HEADER_BYTES;
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        bytes += fieldBytes(field.getType());
+                    }
+                }
+            }
+
+            return align(bytes);
+        }
+    };
+
+    /**
+     * Bytes occupied by list structures excluding hash index.
+     */
+    private final long structureBytes;
+
+    /**
+     * Bytes occupied by hash index of indexed lookup mode.
+     */
+    private final long indexBytes;
+
+    /**
+     * Number of elements in list.
+     */
+    private final int size;
+
+    /**
+     * Number of element slots allocated in backing storage.
+     */
+    private final int capacity;
+
+    /**
+     * Bytes occupied by allocated but unused slots.
+     */
+    private final long wastedBytes;
+
+    /**
+     * Constructs footprint with specified values.
+     *
+     * @param structureBytes bytes occupied by list structures excluding hash index
+     * @param indexBytes     bytes occupied by hash index
+     * @param size           number of elements in list
+     * @param capacity       number of element slots allocated in backing storage
+     * @param wastedBytes    bytes occupied by allocated but unused slots
+     */
+    public MemoryStats(long structureBytes, long indexBytes, int size, int capacity, long wastedBytes) {
+        this.structureBytes = structureBytes;
+        this.indexBytes = indexBytes;
+        this.size = size;
+        this.capacity = capacity;
+        this.wastedBytes = wastedBytes;
+    }
+
+    /**
+     * Returns total bytes occupied by list excluding elements themselves.
+     *
+     * @return shallow footprint of list in bytes
+     */
+    public long shallowBytes() {
+        return structureBytes + indexBytes;
+    }
+
+    /**
+     * Returns bytes occupied by hash index of indexed lookup mode.
+     *
+     * @return footprint of index in bytes, 0 if list is not indexed
+     */
+    public long indexBytes() {
+        return indexBytes;
+    }
+
+    /**
+     * Returns number of elements in list.
+     *
+     * @return number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns number of element slots allocated in backing storage, for linked lists
+     * number of nodes including pooled ones.
+     *
+     * @return capacity of list
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns number of allocated but unused slots.
+     *
+     * @return number of wasted slots
+     */
+    public int wastedSlots() {
+        return capacity - size;
+    }
+
+    /**
+     * Returns bytes occupied by allocated but unused slots.
+     *
+     * @return wasted bytes
+     */
+    public long wastedBytes() {
+        return wastedBytes;
+    }
+
+    /**
+     * Returns shallow footprint of list per element, i.e. overhead list adds to every element it holds.
+     *
+     * @return bytes per element, shallow footprint if list is empty
+     */
+    public double perElementBytes() {
+        return size == 0 ? shallowBytes() : (double) shallowBytes() / size;
+    }
+
+    /**
+     * Returns estimated shallow size of instance of specified class.
+     *
+     * @param type class of instance
+     * @return size of instance in bytes
+     */
+    public static long instanceBytes(Class<?> type) {
+        return INSTANCE_BYTES.get(type);
+    }
+
+    /**
+     * Returns estimated size of array of specified length.
+     *
+     * @param length       length of array
+     * @param elementBytes size of array element in bytes
+     * @return size of array in bytes
+     */
+    public static long arrayBytes(int length, int elementBytes) {
+        return align(ARRAY_HEADER_BYTES + (long) length * elementBytes);
+    }
+
+    /**
+     * Returns size of field of specified type in bytes.
+     */
+    private static int fieldBytes(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+
+        return REFERENCE_BYTES;
+    }
+
+    /**
+     * Rounds size up to object alignment.
+     */
+    private static long align(long bytes) {
+        return (bytes + OBJECT_ALIGNMENT - 1) & -OBJECT_ALIGNMENT;
+    }
+
+    /**
+     * Returns string representation of footprint.
+     *
+     * @return string representation of footprint
+     */
+    @Override
+    public String toString() {
+        return "MemoryStats{shallowBytes=" + shallowBytes()
+                + ", indexBytes=" + indexBytes
+                + ", size=" + size
+                + ", capacity=" + capacity
+                + ", wastedSlots=" + wastedSlots()
+                + ", wastedBytes=" + wastedBytes
+                + ", perElementBytes=" + String.format("%.2f", perElementBytes())
+                + '}';
+    }
+
+}
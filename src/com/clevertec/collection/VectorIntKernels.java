@@ -0,0 +1,92 @@
+package com.clevertec.collection;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of {@link IntKernels} comparing and accumulating whole vector lanes
+ * of the widest shape preferred by platform, e.g. 8 values per step with AVX2 and 16 with AVX-512.
+ * Values of range remaining after the last whole vector are processed by scalar loop.
+ * Requires module {@code jdk.incubator.vector} both to compile and to run, so it is instantiated
+ * only reflectively by {@link IntKernels} after presence of module is checked.
+ */
+final class VectorIntKernels extends IntKernels {
+
+    /**
+     * Species of {@code int} vectors of preferred shape.
+     */
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * Species of {@code long} vectors of the same shape, holding half as many lanes, used to sum without overflow.
+     */
+    private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    boolean vectorized() {
+        return true;
+    }
+
+    @Override
+    int indexOf(int[] values, int from, int to, int value) {
+        int i = from;
+        for (final int bound = from + INT_SPECIES.loopBound(to - from); i < bound; i += INT_SPECIES.length()) {
+            final VectorMask<Integer> found = IntVector.fromArray(INT_SPECIES, values, i).eq(value);
+            if (found.anyTrue()) {
+                return i + found.firstTrue();
+            }
+        }
+
+        return super.indexOf(values, i, to, value);
+    }
+
+    @Override
+    int count(int[] values, int from, int to, int value) {
+        int count = 0;
+        int i = from;
+        for (final int bound = from + INT_SPECIES.loopBound(to - from); i < bound; i += INT_SPECIES.length()) {
+            count += IntVector.fromArray(INT_SPECIES, values, i).eq(value).trueCount();
+        }
+
+        return count + super.count(values, i, to, value);
+    }
+
+    @Override
+    long sum(int[] values, int from, int to) {
+        LongVector sum = LongVector.zero(LONG_SPECIES);
+        int i = from;
+        for (final int bound = from + INT_SPECIES.loopBound(to - from); i < bound; i += INT_SPECIES.length()) {
+            final IntVector vector = IntVector.fromArray(INT_SPECIES, values, i);
+            sum = sum.add(vector.convertShape(VectorOperators.I2L, LONG_SPECIES, 0))
+                    .add(vector.convertShape(VectorOperators.I2L, LONG_SPECIES, 1));
+        }
+
+        return sum.reduceLanes(VectorOperators.ADD) + super.sum(values, i, to);
+    }
+
+    @Override
+    int min(int[] values, int from, int to) {
+        IntVector min = IntVector.broadcast(INT_SPECIES, Integer.MAX_VALUE);
+        int i = from;
+        for (final int bound = from + INT_SPECIES.loopBound(to - from); i < bound; i += INT_SPECIES.length()) {
+            min = min.min(IntVector.fromArray(INT_SPECIES, values, i));
+        }
+
+        return Math.min(min.reduceLanes(VectorOperators.MIN), super.min(values, i, to));
+    }
+
+    @Override
+    int max(int[] values, int from, int to) {
+        IntVector max = IntVector.broadcast(INT_SPECIES, Integer.MIN_VALUE);
+        int i = from;
+        for (final int bound = from + INT_SPECIES.loopBound(to - from); i < bound; i += INT_SPECIES.length()) {
+            max = max.max(IntVector.fromArray(INT_SPECIES, values, i));
+        }
+
+        return Math.max(max.reduceLanes(VectorOperators.MAX), super.max(values, i, to));
+    }
+
+}
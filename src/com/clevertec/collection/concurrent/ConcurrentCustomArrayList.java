@@ -1,5 +1,11 @@
 package com.clevertec.collection.concurrent;
 
+import com.clevertec.collection.ElementCounts;
+import com.clevertec.collection.FrozenList;
+import com.clevertec.collection.ListCursor;
+import com.clevertec.collection.MemoryStats;
+import com.clevertec.collection.metrics.ListMetrics;
+
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -10,10 +16,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Thread-safe variant of custom resizable-array implementation of {@link List} interface.
@@ -35,9 +47,31 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
     private static final int INCREASING_ARRAY_SIZE_MULTIPLAYER = 2;
 
     /**
-     * Monitor protecting all mutators.
+     * Maximum number of queued adds applied by combiner in one pass,
+     * bounds time single thread spends working on behalf of others.
+     */
+    private static final int MAX_COMBINED_ADDS = 1024;
+
+    /**
+     * Number of spins waiting thread makes before parking until combiner appends its element.
+     */
+    private static final int SPINS_BEFORE_PARK = 128;
+
+    /**
+     * Maximum number of elements iterator copies under single acquisition of read lock.
+     */
+    private static final int ITERATOR_BATCH = 64;
+
+    /**
+     * Lock guarding read-only access, the same lock as {@link #writeLock}
+     * unless list is in {@link LockingMode#READ_WRITE} mode.
      */
-    private final transient Object lock = new Object();
+    private final transient Lock readLock;
+
+    /**
+     * Lock protecting all mutators.
+     */
+    private final transient Lock writeLock;
 
     /**
      * Array buffer into which elements of list are stored.
@@ -50,12 +84,86 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
      */
     private volatile int size;
 
+    /**
+     * Hash index of numbers of element occurrences, {@code null} unless indexed lookup mode is on.
+     * Positions are not indexed since they shift on every removal.
+     */
+    private transient ElementCounts lookupIndex;
+
+    /**
+     * Cached snapshot of list, reset to {@code null} under write lock by every modification.
+     */
+    private volatile FrozenList<E> frozen;
+
+    /**
+     * Queue of adds published by threads waiting for combiner, {@code null} unless combining mode is on.
+     */
+    private final transient ConcurrentLinkedQueue<AddRequest<E>> pendingAdds;
+
+    /**
+     * Flag of thread acting as combiner in combining mode.
+     */
+    private final transient AtomicBoolean combinerActive;
+
     /**
      * Constructs empty list with initial capacity.
      */
     public ConcurrentCustomArrayList() {
+        this(LockingMode.EXCLUSIVE, false);
+    }
+
+    /**
+     * Constructs empty list with specified initial capacity.
+     *
+     * @param initialCapacity initial capacity of list
+     * @throws IllegalArgumentException if initial capacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentCustomArrayList(int initialCapacity) {
+        this(LockingMode.EXCLUSIVE, false);
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        elementData = (E[]) new Object[Math.max(initialCapacity, 1)];
+    }
+
+    /**
+     * Constructs empty list with initial capacity and specified mode of appending.
+     *
+     * @param combiningAdds {@code true} to enable combining mode of {@link #add(Object)}
+     * @see #ConcurrentCustomArrayList(LockingMode, boolean)
+     */
+    public ConcurrentCustomArrayList(boolean combiningAdds) {
+        this(LockingMode.EXCLUSIVE, combiningAdds);
+    }
+
+    /**
+     * Constructs empty list with initial capacity and specified mode of locking.
+     *
+     * @param lockingMode mode of locking
+     */
+    public ConcurrentCustomArrayList(LockingMode lockingMode) {
+        this(lockingMode, false);
+    }
+
+    /**
+     * Constructs empty list with initial capacity and specified modes of locking and appending.
+     * In combining mode (flat combining) threads publish their elements to a queue and the single
+     * thread which wins combiner role appends queued elements of all waiting threads under one
+     * acquisition of lock. It pays off when many threads append concurrently.
+     *
+     * @param lockingMode   mode of locking
+     * @param combiningAdds {@code true} to enable combining mode of {@link #add(Object)}
+     * @throws NullPointerException if locking mode is null
+     */
+    public ConcurrentCustomArrayList(LockingMode lockingMode, boolean combiningAdds) {
         size = 0;
         elementData = initArray();
+        ReadWriteLock locks = lockingMode.newLock();
+        readLock = ListMetrics.instrument(locks.readLock(), this, false);
+        writeLock = ListMetrics.instrument(locks.writeLock(), this, true);
+        pendingAdds = combiningAdds ? new ConcurrentLinkedQueue<>() : null;
+        combinerActive = combiningAdds ? new AtomicBoolean() : null;
     }
 
     /**
@@ -67,16 +175,223 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
      */
     @Override
     public boolean add(E element) {
-        synchronized (lock) {
+        if (pendingAdds != null) {
+            combineAdd(element);
+
+            return true;
+        }
+
+        writeLock.lock();
+        try {
+            frozen = null;
             if (size == elementData.length) {
                 grow();
             }
             elementData[size++] = element;
+
+            if (lookupIndex != null) {
+                lookupIndex.add(element);
+            }
+        } finally {
+            writeLock.unlock();
         }
 
         return true;
     }
 
+    /**
+     * Appends all elements of specified collection in order they are returned by its {@code toArray}.
+     * Elements are appended under single acquisition of lock with single capacity check.
+     *
+     * @param c collection containing elements to be added to list
+     * @return {@code true} if list changed as a result of the call
+     * @throws NullPointerException if specified collection is null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] batch = c.toArray();
+        addBatch((E[]) batch, 0, batch.length);
+
+        return batch.length != 0;
+    }
+
+    /**
+     * Appends {@code length} elements of specified array starting from {@code offset}
+     * under single acquisition of lock with single capacity check and one array copy.
+     *
+     * @param batch  array containing elements to be added to list
+     * @param offset index of the first element of array to add
+     * @param length number of elements to add
+     * @throws NullPointerException      if specified array is null
+     * @throws IndexOutOfBoundsException if range is out of bounds of array
+     */
+    public void addBatch(E[] batch, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, batch.length);
+
+        if (length == 0) {
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            frozen = null;
+            ensureCapacity(size + length);
+            System.arraycopy(batch, offset, elementData, size, length);
+            size += length;
+
+            if (lookupIndex != null) {
+                for (int i = offset; i < offset + length; i++) {
+                    lookupIndex.add(batch[i]);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Inserts all elements of specified collection at specified position, shifting subsequent
+     * elements to the right. Elements are copied out of collection before acquiring lock,
+     * then inserted under single acquisition of lock with single capacity check.
+     *
+     * @param index index at which to insert the first element from specified collection
+     * @param c     collection containing elements to be added to list
+     * @return {@code true} if list changed as a result of the call
+     * @throws IndexOutOfBoundsException if index is negative or greater than size of list
+     *                                   ({@code index < 0 || index > size()})
+     * @throws NullPointerException      if specified collection is null
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        Object[] batch = c.toArray();
+
+        writeLock.lock();
+        try {
+            frozen = null;
+            checkPositionIndex(index);
+
+            if (batch.length == 0) {
+                return false;
+            }
+
+            ensureCapacity(size + batch.length);
+            System.arraycopy(elementData, index, elementData, index + batch.length, size - index);
+            if (ListMetrics.ENABLED) {
+                ListMetrics.shift(this, size - index);
+            }
+            System.arraycopy(batch, 0, elementData, index, batch.length);
+            size += batch.length;
+
+            if (lookupIndex != null) {
+                for (Object element : batch) {
+                    lookupIndex.add(element);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+
+        return true;
+    }
+
+    /**
+     * Queued element waiting to be appended by combiner.
+     */
+    private static class AddRequest<E> {
+
+        /**
+         * Element to append.
+         */
+        final E element;
+
+        /**
+         * Thread waiting for element to be appended, unparked by combiner.
+         */
+        final Thread waiter;
+
+        /**
+         * Set by combiner once element is appended.
+         */
+        volatile boolean applied;
+
+        /**
+         * Next request applied by the same combiner pass, links requests to unpark after lock is released.
+         */
+        AddRequest<E> nextApplied;
+
+        AddRequest(E element) {
+            this.element = element;
+            this.waiter = Thread.currentThread();
+        }
+    }
+
+    /**
+     * Publishes element to queue of pending adds and waits until some combiner appends it.
+     * Calling thread becomes combiner itself whenever the role is free. Waiting thread spins
+     * for a while and then parks, so waiters never occupy processors needed by combiner;
+     * combiner unparks threads whose elements it appended and, on leaving its role,
+     * the thread of the oldest pending request to take the role over.
+     * Buffer is grown before the next request is taken from queue, so if growing fails, e.g. with
+     * {@link OutOfMemoryError}, no taken request is lost: combiner withdraws its own request unless
+     * it is already appended and rethrows, other requests stay queued and their threads retry as combiners.
+     */
+    private void combineAdd(E element) {
+        AddRequest<E> request = new AddRequest<>(element);
+        pendingAdds.offer(request);
+
+        int spins = 0;
+        while (!request.applied) {
+            if (!combinerActive.get() && combinerActive.compareAndSet(false, true)) {
+                AddRequest<E> appliedChain = null;
+                try {
+                    writeLock.lock();
+                    try {
+                        frozen = null;
+                        for (int i = 0; i < MAX_COMBINED_ADDS && !pendingAdds.isEmpty(); i++) {
+                            if (size == elementData.length) {
+                                grow();
+                            }
+                            final AddRequest<E> next = pendingAdds.poll();
+                            elementData[size++] = next.element;
+                            next.nextApplied = appliedChain;
+                            appliedChain = next;
+                            next.applied = true;
+                            if (lookupIndex != null) {
+                                lookupIndex.add(next.element);
+                            }
+                        }
+                    } finally {
+                        writeLock.unlock();
+                    }
+                } catch (RuntimeException | Error e) {
+                    if (!request.applied) {
+                        pendingAdds.remove(request);
+                        throw e;
+                    }
+                } finally {
+                    combinerActive.set(false);
+
+                    for (AddRequest<E> applied = appliedChain; applied != null; applied = applied.nextApplied) {
+                        if (applied != request) {
+                            LockSupport.unpark(applied.waiter);
+                        }
+                    }
+
+                    final AddRequest<E> oldest = pendingAdds.peek();
+                    if (oldest != null) {
+                        LockSupport.unpark(oldest.waiter);
+                    }
+                }
+            } else if (spins < SPINS_BEFORE_PARK) {
+                spins++;
+                Thread.onSpinWait();
+            } else {
+                LockSupport.park(this);
+            }
+        }
+    }
+
     /**
      * Returns element at specified position in list.
      *
@@ -87,10 +402,13 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
      */
     @Override
     public E get(int index) {
-        synchronized (lock) {
+        readLock.lock();
+        try {
             checkElementIndex(index);
 
             return elementData[index];
+        } finally {
+            readLock.unlock();
         }
     }
 
@@ -166,9 +484,66 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
     }
 
     /**
-     * Iterator over list implementing {@link Iterator} interface.
+     * Returns reusable cursor over elements in list, see {@link ListCursor}.
+     * Cursor is weakly consistent in the same way as {@link #iterator()}.
+     *
+     * @return cursor positioned before the first element of list
+     */
+    public ListCursor<E> cursor() {
+        return new ConcurrentCustomArrayList<E>.Itr();
+    }
+
+    /**
+     * Performs action for each element in order of index under single acquisition of read lock,
+     * traversing storage directly without creating iterator. Action observes consistent state of list,
+     * but it must not modify list, since write lock cannot be acquired while read lock is held.
+     *
+     * @param action action to be performed for each element
+     * @throws NullPointerException if specified action is null
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        readLock.lock();
+        try {
+            final E[] elements = elementData;
+            for (int i = 0, end = size; i < end; i++) {
+                action.accept(elements[i]);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Performs action for each element together with its index, in order of index,
+     * under single acquisition of read lock. Action must not modify list.
+     *
+     * @param action action to be performed for each element and its index
+     * @throws NullPointerException if specified action is null
+     * @see #forEach(Consumer)
      */
-    private class Itr implements Iterator<E> {
+    public void forEachIndexed(ObjIntConsumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        readLock.lock();
+        try {
+            final E[] elements = elementData;
+            for (int i = 0, end = size; i < end; i++) {
+                action.accept(elements[i], i);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Iterator over list implementing {@link ListCursor} interface.
+     * Elements are copied in batches under read lock and returned from batch, so iterator is
+     * weakly consistent: it may return element removed or replaced after its batch was copied.
+     */
+    private class Itr implements ListCursor<E> {
         /**
          * Index of element to be returned by subsequent call to next.
          */
@@ -180,13 +555,36 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
          */
         int lastReturned = -1;
 
+        /**
+         * Elements copied from list under read lock, allocated by the first call to next.
+         */
+        Object[] batch;
+
+        /**
+         * Index in list of the first element of {@link #batch}.
+         */
+        int batchStart;
+
+        /**
+         * Index in list following the last element of {@link #batch}, equal to
+         * {@link #batchStart} if batch holds no elements.
+         */
+        int batchEnd;
+
         /**
          * Returns {@code true} if iteration has more elements.
+         * Answers from copied batch while cursor is inside it, so traversal does not read
+         * shared volatile size (written by every mutator) on each step, otherwise copies the next batch.
+         * Element reported by {@code true} result is already copied, so subsequent call
+         * to {@link #next()} returns it even if list shrinks in between.
+         * Elements appended during iteration are observed once copied batch is exhausted.
          *
          * @return {@code true} if iteration has more elements
          */
         public boolean hasNext() {
-            return cursor != size();
+            final int i = cursor;
+
+            return i >= batchStart && i < batchEnd || fillBatch(i);
         }
 
         /**
@@ -195,16 +593,44 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
          * @return the next element in iteration
          * @throws NoSuchElementException if iteration has no more elements
          */
+        @SuppressWarnings("unchecked")
         public E next() {
-            try {
-                int i = cursor;
-                E next = get(i);
-                lastReturned = i;
-                cursor = i + 1;
-                return next;
-            } catch (IndexOutOfBoundsException e) {
+            if (!hasNext()) {
                 throw new NoSuchElementException();
             }
+
+            final int i = cursor;
+
+            lastReturned = i;
+            cursor = i + 1;
+            return (E) batch[i - batchStart];
+        }
+
+        /**
+         * Copies up to {@link #ITERATOR_BATCH} elements starting at specified index under single
+         * acquisition of read lock, so lock is taken once per batch rather than once per element.
+         *
+         * @return {@code false} if list has no element at specified index
+         */
+        private boolean fillBatch(int from) {
+            if (batch == null) {
+                batch = new Object[ITERATOR_BATCH];
+            }
+
+            readLock.lock();
+            try {
+                final int count = Math.min(ITERATOR_BATCH, size - from);
+                if (count <= 0) {
+                    return false;
+                }
+                System.arraycopy(elementData, from, batch, 0, count);
+                batchStart = from;
+                batchEnd = from + count;
+
+                return true;
+            } finally {
+                readLock.unlock();
+            }
         }
 
         /**
@@ -224,12 +650,22 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
                 if (lastReturned < cursor) {
                     cursor--;
                 }
+                batchEnd = batchStart;
 
                 lastReturned = -1;
             } catch (IndexOutOfBoundsException e) {
                 throw new ConcurrentModificationException();
             }
         }
+
+        /**
+         * Rewinds iterator to the first element of list and discards copied batch.
+         */
+        public void reset() {
+            cursor = 0;
+            lastReturned = -1;
+            batchEnd = batchStart;
+        }
     }
 
     /**
@@ -242,7 +678,9 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
      */
     @Override
     public E remove(int index) {
-        synchronized (lock) {
+        writeLock.lock();
+        try {
+            frozen = null;
             checkElementIndex(index);
 
             E removedElement = elementData[index];
@@ -251,6 +689,9 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
 
             if (size > 0) {
                 System.arraycopy(elementData, index + 1, elementData, index, size - index);
+                if (ListMetrics.ENABLED) {
+                    ListMetrics.shift(this, size - index);
+                }
 //            for (int i = index; i < size; i++) {
 //                elementData[i] = elementData[i + 1];
 //            }
@@ -258,7 +699,13 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
                 elementData = initArray();
             }
 
+            if (lookupIndex != null) {
+                lookupIndex.remove(removedElement);
+            }
+
             return removedElement;
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -270,7 +717,13 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
      */
     @Override
     public boolean remove(Object element) {
-        synchronized (lock) {
+        writeLock.lock();
+        try {
+            frozen = null;
+            if (lookupIndex != null && !lookupIndex.contains(element)) {
+                return false;
+            }
+
             Integer elementIndex = null;
 
             if (element == null) {
@@ -293,12 +746,21 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
                 size--;
                 if (size > 0) {
                     System.arraycopy(elementData, elementIndex + 1, elementData, elementIndex, size - elementIndex);
+                    if (ListMetrics.ENABLED) {
+                        ListMetrics.shift(this, size - elementIndex);
+                    }
                 } else {
                     elementData = initArray();
                 }
 
+                if (lookupIndex != null) {
+                    lookupIndex.remove(element);
+                }
+
                 return true;
             }
+        } finally {
+            writeLock.unlock();
         }
 
         return false;
@@ -332,9 +794,25 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
      */
     @Override
     public String toString() {
-        return IntStream.range(0, size)
-                .mapToObj(i -> String.valueOf(elementData[i]))
-                .collect(Collectors.joining(", ", "[", "]"));
+        StringBuilder builder = new StringBuilder();
+        builder.append('[');
+
+        readLock.lock();
+        try {
+            final E[] elements = elementData;
+            for (int i = 0, end = size; i < end; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(elements[i]);
+            }
+        } finally {
+            readLock.unlock();
+        }
+
+        builder.append(']');
+
+        return builder.toString();
     }
 
     /**
@@ -342,7 +820,45 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
      */
     private void grow() {
         int newIncreasedCapacity = elementData.length * INCREASING_ARRAY_SIZE_MULTIPLAYER;
-        elementData = Arrays.copyOf(elementData, newIncreasedCapacity);
+        resize(newIncreasedCapacity);
+    }
+
+    /**
+     * Reallocates array buffer with specified capacity, reporting resize to instrumentation if it is enabled.
+     */
+    private void resize(int newCapacity) {
+        final long start = ListMetrics.ENABLED ? ListMetrics.beginResize(this) : 0L;
+        final int oldCapacity = elementData.length;
+        elementData = Arrays.copyOf(elementData, newCapacity);
+
+        if (ListMetrics.ENABLED) {
+            ListMetrics.resize(this, size, oldCapacity, newCapacity,
+                    (long) oldCapacity * MemoryStats.REFERENCE_BYTES, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Increases capacity of list instance, if necessary, with single copy of array
+     * to hold at least specified number of elements.
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required list capacity is too large");
+        }
+
+        if (minCapacity > elementData.length) {
+            int newIncreasedCapacity = Math.max(elementData.length * INCREASING_ARRAY_SIZE_MULTIPLAYER, minCapacity);
+            resize(newIncreasedCapacity);
+        }
+    }
+
+    /**
+     * Checks whether specified index is valid position for insertion.
+     */
+    private void checkPositionIndex(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Position index = " + index + ", list size = " + size);
+        }
     }
 
     /**
@@ -371,6 +887,7 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
 
     /**
      * Returns {@code true} if list contains specified element.
+     * Takes constant expected time in indexed lookup mode.
      *
      * @param o element whose presence in list is to be tested
      * @return {@code true} if list contains specified element
@@ -379,12 +896,22 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
      */
     @Override
     public boolean contains(Object o) {
-        throw new UnsupportedOperationException();
+        readLock.lock();
+        try {
+            if (lookupIndex != null) {
+                return lookupIndex.contains(o);
+            }
+        } finally {
+            readLock.unlock();
+        }
+
+        return indexOf(o) >= 0;
     }
 
     /**
      * Returns index of the first occurrence of specified element with the lowest index
      * in list or -1 if this list does not contain the element.
+     * Absent element is detected in constant expected time in indexed lookup mode.
      *
      * @param o element to search for
      * @return index of the first occurrence of specified element in
@@ -393,36 +920,149 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
      *                            is incompatible with list
      */
     public int indexOf(Object o) {
-        throw new UnsupportedOperationException();
+        readLock.lock();
+        try {
+            if (lookupIndex != null && !lookupIndex.contains(o)) {
+                return -1;
+            }
+
+            if (o == null) {
+                for (int i = 0; i < size; i++) {
+                    if (elementData[i] == null) {
+                        return i;
+                    }
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    if (o.equals(elementData[i])) {
+                        return i;
+                    }
+                }
+            }
+        } finally {
+            readLock.unlock();
+        }
+
+        return -1;
     }
 
-    @Override
-    public void clear() {
-        throw new UnsupportedOperationException();
+    /**
+     * Turns indexed lookup mode on or off. In indexed mode list maintains hash index of element
+     * occurrences, so {@link #contains(Object)} takes constant expected time and absent element
+     * is rejected by {@link #indexOf(Object)} and {@link #remove(Object)} without scan under lock,
+     * at the cost of {@link ElementCounts#estimatedBytes()} of memory.
+     * Turning mode on builds index from current elements in linear time.
+     *
+     * @param indexed {@code true} to maintain index, {@code false} to drop it
+     */
+    public void setIndexed(boolean indexed) {
+        writeLock.lock();
+        try {
+            if (!indexed) {
+                lookupIndex = null;
+            } else if (lookupIndex == null) {
+                lookupIndex = new ElementCounts();
+                for (int i = 0; i < size; i++) {
+                    lookupIndex.add(elementData[i]);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
     }
 
-    @Override
-    public E set(int index, E element) {
-        throw new UnsupportedOperationException();
+    /**
+     * Returns {@code true} if indexed lookup mode is on.
+     *
+     * @return {@code true} if list maintains hash index of elements
+     */
+    public boolean isIndexed() {
+        readLock.lock();
+        try {
+            return lookupIndex != null;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns estimated number of bytes occupied by hash index, 0 unless indexed lookup mode is on.
+     *
+     * @return estimated footprint of index in bytes
+     */
+    public long indexBytes() {
+        readLock.lock();
+        try {
+            return lookupIndex != null ? lookupIndex.estimatedBytes() : 0;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns immutable exactly-sized snapshot of list, which can be shared between threads without locking.
+     * Snapshot is copied with single array copy under read lock once and then cached: subsequent calls return the same snapshot
+     * without locking until the next modification of list.
+     *
+     * @return frozen snapshot of list
+     */
+    public FrozenList<E> snapshot() {
+        FrozenList<E> snapshot = frozen;
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        readLock.lock();
+        try {
+            snapshot = frozen;
+            if (snapshot == null) {
+                snapshot = FrozenList.copyOf(elementData, size);
+                frozen = snapshot;
+            }
+        } finally {
+            readLock.unlock();
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Returns estimated memory footprint of list computed from capacity of array buffer under read lock.
+     * Unused tail of array buffer is reported as wasted. Lock structures are not accounted.
+     *
+     * @return footprint of list
+     */
+    public MemoryStats footprint() {
+        readLock.lock();
+        try {
+            final int capacity = elementData.length;
+
+            return new MemoryStats(
+                    MemoryStats.instanceBytes(getClass()) + MemoryStats.arrayBytes(capacity, MemoryStats.REFERENCE_BYTES),
+                    lookupIndex != null ? lookupIndex.estimatedBytes() : 0,
+                    size, capacity, (long) (capacity - size) * MemoryStats.REFERENCE_BYTES);
+        } finally {
+            readLock.unlock();
+        }
     }
 
     @Override
-    public void add(int index, E element) {
+    public void clear() {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    public boolean containsAll(Collection<?> c) {
+    public E set(int index, E element) {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    public boolean addAll(Collection<? extends E> c) {
+    public void add(int index, E element) {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    public boolean addAll(int index, Collection<? extends E> c) {
+    public boolean containsAll(Collection<?> c) {
         throw new UnsupportedOperationException();
     }
 
@@ -466,15 +1106,50 @@ public class ConcurrentCustomArrayList<E> implements List<E>, RandomAccess, Seri
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns array containing all elements of list in proper sequence,
+     * copied under read lock as consistent snapshot.
+     *
+     * @return array containing all elements of list
+     */
     @Override
     public Object[] toArray() {
-//        return new Object[0];
-        throw new UnsupportedOperationException();
+        readLock.lock();
+        try {
+            return Arrays.copyOf(elementData, size, Object[].class);
+        } finally {
+            readLock.unlock();
+        }
     }
 
+    /**
+     * Returns array containing all elements of list in proper sequence,
+     * runtime type of returned array is that of specified array.
+     * Elements are copied under read lock as consistent snapshot.
+     *
+     * @param a array into which elements of list are to be stored if it is big enough
+     * @return array containing elements of list
+     * @throws ArrayStoreException  if runtime type of specified array is not a supertype of every element
+     * @throws NullPointerException if specified array is null
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T[] toArray(T[] a) {
-        throw new UnsupportedOperationException();
+        readLock.lock();
+        try {
+            if (a.length < size) {
+                return (T[]) Arrays.copyOf(elementData, size, a.getClass());
+            }
+
+            System.arraycopy(elementData, 0, a, 0, size);
+            if (a.length > size) {
+                a[size] = null;
+            }
+
+            return a;
+        } finally {
+            readLock.unlock();
+        }
     }
 
 //    @Override
@@ -1,6 +1,16 @@
 package com.clevertec.collection.concurrent;
 
+import com.clevertec.collection.ElementIndex;
+import com.clevertec.collection.FrozenList;
+import com.clevertec.collection.ListCursor;
+import com.clevertec.collection.MemoryStats;
+import com.clevertec.collection.metrics.ListMetrics;
+
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.util.AbstractQueue;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
@@ -8,6 +18,14 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Thread-safe variant of custom doubly-linked list implementation of {@link List} interface.
@@ -19,9 +37,21 @@ import java.util.NoSuchElementException;
 public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
 
     /**
-     * Monitor protecting all mutators.
+     * Lock guarding read-only access, the same lock as {@link #writeLock}
+     * unless list is in {@link LockingMode#READ_WRITE} mode.
+     */
+    private final transient Lock readLock;
+
+    /**
+     * Lock protecting all mutators.
      */
-    private final transient Object lock = new Object();
+    private final transient Lock writeLock;
+
+    /**
+     * Condition of write lock signalled when element is linked to list,
+     * awaited by consumers of {@link #asBlockingDeque()} view.
+     */
+    private final transient Condition notEmpty;
 
     /**
      * Number of elements list contains.
@@ -38,11 +68,76 @@ public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
      */
     transient Node<E> tail;
 
+    /**
+     * Hash index of nodes by element, {@code null} unless indexed lookup mode is on.
+     */
+    private transient ElementIndex<Node<E>> lookupIndex;
+
+    /**
+     * Number of modifications of list, incremented under write lock by every modification.
+     * Lets iterators step from node to node while list is not modified since their previous step.
+     */
+    private transient int modCount;
+
+    /**
+     * Cached snapshot of list, reset to {@code null} under write lock by every modification.
+     */
+    private volatile FrozenList<E> frozen;
+
+    /**
+     * Write-ahead log receiving record of every modification, {@code null} unless list is durable.
+     */
+    private final transient ListJournal<E> journal;
+
     /**
      * Constructs an empty list.
      */
     public ConcurrentCustomLinkedList() {
+        this(LockingMode.EXCLUSIVE);
+    }
+
+    /**
+     * Constructs an empty list with specified mode of locking.
+     *
+     * @param lockingMode mode of locking
+     * @throws NullPointerException if locking mode is null
+     */
+    public ConcurrentCustomLinkedList(LockingMode lockingMode) {
         super();
+        ReadWriteLock locks = lockingMode.newLock();
+        readLock = ListMetrics.instrument(locks.readLock(), this, false);
+        writeLock = ListMetrics.instrument(locks.writeLock(), this, true);
+        notEmpty = writeLock.newCondition();
+        journal = null;
+    }
+
+    /**
+     * Constructs durable list with specified mode of locking, restoring its elements from journal.
+     * Journal is replayed and compacted into single segment holding restored elements, then every
+     * insertion and removal is appended to journal under write lock. Whether mutators wait for
+     * their records to be forced to storage device is chosen by sync interval of journal.
+     * Journal can be attached to single list only and must be closed by its owner.
+     *
+     * @param lockingMode mode of locking
+     * @param journal     journal of list
+     * @throws NullPointerException  if locking mode or journal is null
+     * @throws IllegalStateException if journal is closed or already attached to list
+     * @throws UncheckedIOException  if journal can not be read or compacted
+     */
+    public ConcurrentCustomLinkedList(LockingMode lockingMode, ListJournal<E> journal) {
+        super();
+        ReadWriteLock locks = lockingMode.newLock();
+        readLock = ListMetrics.instrument(locks.readLock(), this, false);
+        writeLock = ListMetrics.instrument(locks.writeLock(), this, true);
+        notEmpty = writeLock.newCondition();
+
+        writeLock.lock();
+        try {
+            journal.attach(new JournalReplay(), this::toArray);
+        } finally {
+            writeLock.unlock();
+        }
+        this.journal = journal;
     }
 
     /**
@@ -85,23 +180,169 @@ public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
      */
     @Override
     public boolean add(E element) {
-        synchronized (lock) {
-            final Node<E> last = tail;
-            final Node<E> newNode = new Node<>(element, last, null);
-            tail = newNode;
+        writeLock.lock();
+        try {
+            linkLast(element);
+        } finally {
+            unlockWrite();
+        }
 
-            if (last == null) {
-                head = newNode;
-            } else {
-                last.next = newNode;
+        return true;
+    }
+
+    /**
+     * Appends all elements of specified collection in order they are returned by its {@code toArray}.
+     * Chain of new nodes is built before acquiring lock and linked to tail in constant time.
+     *
+     * @param c collection containing elements to be added to list
+     * @return {@code true} if list changed as a result of the call
+     * @throws NullPointerException if specified collection is null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] batch = c.toArray();
+        addBatch((E[]) batch, 0, batch.length);
+
+        return batch.length != 0;
+    }
+
+    /**
+     * Appends {@code length} elements of specified array starting from {@code offset}.
+     * Chain of new nodes is built before acquiring lock and linked to tail in constant time.
+     *
+     * @param batch  array containing elements to be added to list
+     * @param offset index of the first element of array to add
+     * @param length number of elements to add
+     * @throws NullPointerException      if specified array is null
+     * @throws IndexOutOfBoundsException if range is out of bounds of array
+     */
+    public void addBatch(E[] batch, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, batch.length);
+
+        if (length == 0) {
+            return;
+        }
+
+        final Node<E> first = newChain(batch, offset, length);
+        Node<E> last = first;
+        while (last.next != null) {
+            last = last.next;
+        }
+
+        writeLock.lock();
+        try {
+            linkChainBefore(first, last, length, null);
+        } finally {
+            unlockWrite();
+        }
+    }
+
+    /**
+     * Inserts all elements of specified collection at specified position, shifting subsequent
+     * elements to the right. Chain of new nodes is built before acquiring lock and spliced
+     * into list at once, so only lookup of successor node is done under lock.
+     *
+     * @param index index at which to insert the first element from specified collection
+     * @param c     collection containing elements to be added to list
+     * @return {@code true} if list changed as a result of the call
+     * @throws IndexOutOfBoundsException if index is negative or greater than size of list
+     *                                   ({@code index < 0 || index > size()})
+     * @throws NullPointerException      if specified collection is null
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        Object[] batch = c.toArray();
+        @SuppressWarnings("unchecked")
+        final Node<E> first = batch.length == 0 ? null : newChain((E[]) batch, 0, batch.length);
+        Node<E> last = first;
+        while (last != null && last.next != null) {
+            last = last.next;
+        }
+
+        writeLock.lock();
+        try {
+            checkPositionIndex(index);
+
+            if (first == null) {
+                return false;
             }
 
-            size++;
+            linkChainBefore(first, last, batch.length, index == size ? null : getNodeByIndex(index));
+        } finally {
+            unlockWrite();
         }
 
         return true;
     }
 
+    /**
+     * Returns the first node of new unlinked chain holding {@code length > 0} elements of array
+     * starting from {@code offset}.
+     */
+    private static <E> Node<E> newChain(E[] batch, int offset, int length) {
+        final Node<E> first = new Node<>(batch[offset], null, null);
+        Node<E> last = first;
+        for (int i = offset + 1; i < offset + length; i++) {
+            final Node<E> newNode = new Node<>(batch[i], last, null);
+            last.next = newNode;
+            last = newNode;
+        }
+
+        return first;
+    }
+
+    /**
+     * Links chain of {@code count} nodes from {@code first} to {@code last} before non-null successor node
+     * or at the end of list if successor is {@code null}. Must be called under write lock.
+     */
+    private void linkChainBefore(Node<E> first, Node<E> last, int count, Node<E> successor) {
+        if (journal != null) {
+            journal.appendInsert(successor == null ? size : indexOfNode(successor), count, new Iterator<E>() {
+                private Node<E> node = first;
+
+                public boolean hasNext() {
+                    return node != null;
+                }
+
+                public E next() {
+                    final E element = node.element;
+                    node = node.next;
+                    return element;
+                }
+            });
+        }
+
+        frozen = null;
+        modCount++;
+
+        final Node<E> predecessor = successor == null ? tail : successor.prev;
+        first.prev = predecessor;
+        last.next = successor;
+
+        if (predecessor == null) {
+            head = first;
+        } else {
+            predecessor.next = first;
+        }
+
+        if (successor == null) {
+            tail = last;
+        } else {
+            successor.prev = last;
+        }
+
+        size += count;
+
+        if (lookupIndex != null) {
+            for (Node<E> node = first; node != successor; node = node.next) {
+                indexNode(node, successor);
+            }
+        }
+
+        notEmpty.signalAll();
+    }
+
     /**
      * Returns element at specified position in list.
      *
@@ -112,8 +353,11 @@ public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
      */
     @Override
     public E get(int index) {
-        synchronized (lock) {
+        readLock.lock();
+        try {
             return getNodeByIndex(index).element;
+        } finally {
+            readLock.unlock();
         }
     }
 
@@ -129,70 +373,612 @@ public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
         return new ConcurrentCustomLinkedList<E>.Itr();
     }
 
-    /**
-     * Iterator over list implementing {@link Iterator} interface.
-     */
-    private class Itr implements Iterator<E> {
-        /**
-         * Index of element to be returned by subsequent call to next.
-         */
-        int cursor = 0;
+    /**
+     * Returns reusable cursor over elements in list, see {@link ListCursor}.
+     * Cursor is weakly consistent in the same way as {@link #iterator()}.
+     *
+     * @return cursor positioned before the first element of list
+     */
+    public ListCursor<E> cursor() {
+        return new ConcurrentCustomLinkedList<E>.Itr();
+    }
+
+    /**
+     * Performs action for each element in order of index under single acquisition of read lock,
+     * traversing storage directly without creating iterator. Action observes consistent state of list,
+     * but it must not modify list, since write lock cannot be acquired while read lock is held.
+     *
+     * @param action action to be performed for each element
+     * @throws NullPointerException if specified action is null
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        readLock.lock();
+        try {
+            for (Node<E> node = head; node != null; node = node.next) {
+                action.accept(node.element);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Performs action for each element together with its index, in order of index,
+     * under single acquisition of read lock. Action must not modify list.
+     *
+     * @param action action to be performed for each element and its index
+     * @throws NullPointerException if specified action is null
+     * @see #forEach(Consumer)
+     */
+    public void forEachIndexed(ObjIntConsumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        readLock.lock();
+        try {
+            int index = 0;
+            for (Node<E> node = head; node != null; node = node.next) {
+                action.accept(node.element, index++);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Iterator over list implementing {@link ListCursor} interface.
+     * Iterator keeps node of the next element and steps to its successor under read lock
+     * in constant time. If list was modified since previous step, node may be unlinked,
+     * so iterator locates element by its index instead, which keeps iteration weakly consistent.
+     * Element is read under lock by {@link #hasNext()} and kept until returned by {@link #next()},
+     * so it is returned even if removed in between.
+     */
+    private class Itr implements ListCursor<E> {
+        /**
+         * Index of element to be returned by subsequent call to next.
+         */
+        int cursor = 0;
+
+        /**
+         * Index of element returned by most recent call to next or previous.
+         * Reset to -1 if this element is deleted by call to remove.
+         */
+        int lastReturned = -1;
+
+        /**
+         * Node of element to be returned by subsequent call to next,
+         * {@code null} if it has to be located by {@link #cursor}.
+         */
+        Node<E> nextNode;
+
+        /**
+         * Node of element returned by most recent call to next, {@code null} if it
+         * has to be located by {@link #lastReturned} since list was modified.
+         */
+        Node<E> lastNode;
+
+        /**
+         * Node at {@link #cursor} located by {@link #hasNext()} and not returned yet,
+         * {@code null} if the next element has not been read.
+         */
+        Node<E> reservedNode;
+
+        /**
+         * Element at {@link #cursor} read by {@link #hasNext()} to be returned by subsequent call to next.
+         */
+        E reservedElement;
+
+        /**
+         * Modification count of list at which {@link #nextNode} and {@link #lastNode} were read.
+         */
+        int expectedModCount;
+
+        /**
+         * Returns {@code true} if iteration has more elements.
+         * Reads the next element under read lock, so subsequent call to {@link #next()}
+         * returns it without locking even if list shrinks in between.
+         *
+         * @return {@code true} if iteration has more elements
+         */
+        public boolean hasNext() {
+            if (reservedNode != null) {
+                return true;
+            }
+
+            readLock.lock();
+            try {
+                Node<E> node = nextNode;
+                if (node == null || expectedModCount != modCount) {
+                    if (cursor >= size) {
+                        return false;
+                    }
+                    node = getNodeByIndex(cursor);
+                    if (expectedModCount != modCount) {
+                        lastNode = null;
+                        expectedModCount = modCount;
+                    }
+                }
+
+                nextNode = node.next;
+                reservedElement = node.element;
+                reservedNode = node;
+                return true;
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        /**
+         * Returns the next element in iteration.
+         *
+         * @return the next element in iteration
+         * @throws NoSuchElementException if iteration has no more elements
+         */
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final E element = reservedElement;
+            lastNode = reservedNode;
+            reservedNode = null;
+            reservedElement = null;
+            lastReturned = cursor++;
+            return element;
+        }
+
+        /**
+         * Removes from list the last element returned by iterator.
+         *
+         * @throws IllegalStateException if {@code next} method has not
+         *                               yet been called or {@code remove} method has already
+         *                               been called after the last call to {@code next} method
+         */
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+
+            writeLock.lock();
+            try {
+                if (lastNode != null && expectedModCount == modCount) {
+                    unlink(lastNode);
+                } else {
+                    unlink(getNodeByIndex(lastReturned));
+                    nextNode = null;
+                }
+                expectedModCount = modCount;
+            } catch (IndexOutOfBoundsException e) {
+                throw new ConcurrentModificationException();
+            } finally {
+                unlockWrite();
+            }
+
+            if (lastReturned < cursor) {
+                cursor--;
+            }
+
+            lastReturned = -1;
+            lastNode = null;
+        }
+
+        /**
+         * Rewinds iterator to the first element of list and discards element read in advance.
+         */
+        public void reset() {
+            cursor = 0;
+            lastReturned = -1;
+            nextNode = null;
+            lastNode = null;
+            reservedNode = null;
+            reservedElement = null;
+        }
+    }
+
+    /**
+     * Returns unbounded {@link BlockingDeque} view backed by head and tail of this list.
+     * Consumers calling {@code take} or timed {@code poll} park until element is linked to list
+     * by view or by list itself, instead of polling {@code remove(0)} in loop.
+     * View shares lock of list and does not permit inserting {@code null}.
+     *
+     * @return blocking deque view of list
+     */
+    public BlockingDeque<E> asBlockingDeque() {
+        return new BlockingDequeView();
+    }
+
+    /**
+     * Unbounded blocking deque view over list, operations on both ends take constant time.
+     */
+    private class BlockingDequeView extends AbstractQueue<E> implements BlockingDeque<E> {
+
+        @Override
+        public void addFirst(E e) {
+            offerFirst(e);
+        }
+
+        @Override
+        public void addLast(E e) {
+            offerLast(e);
+        }
+
+        @Override
+        public boolean offerFirst(E e) {
+            Objects.requireNonNull(e);
+
+            writeLock.lock();
+            try {
+                linkFirst(e);
+            } finally {
+                unlockWrite();
+            }
+
+            return true;
+        }
+
+        @Override
+        public boolean offerLast(E e) {
+            Objects.requireNonNull(e);
+
+            writeLock.lock();
+            try {
+                linkLast(e);
+            } finally {
+                unlockWrite();
+            }
+
+            return true;
+        }
+
+        /**
+         * Inserts element at the front, never blocks since view is unbounded.
+         */
+        @Override
+        public void putFirst(E e) {
+            offerFirst(e);
+        }
+
+        /**
+         * Inserts element at the end, never blocks since view is unbounded.
+         */
+        @Override
+        public void putLast(E e) {
+            offerLast(e);
+        }
+
+        @Override
+        public boolean offerFirst(E e, long timeout, TimeUnit unit) {
+            return offerFirst(e);
+        }
+
+        @Override
+        public boolean offerLast(E e, long timeout, TimeUnit unit) {
+            return offerLast(e);
+        }
+
+        @Override
+        public E removeFirst() {
+            E element = pollFirst();
+            if (element == null) {
+                throw new NoSuchElementException();
+            }
+
+            return element;
+        }
+
+        @Override
+        public E removeLast() {
+            E element = pollLast();
+            if (element == null) {
+                throw new NoSuchElementException();
+            }
+
+            return element;
+        }
+
+        @Override
+        public E pollFirst() {
+            writeLock.lock();
+            try {
+                return head == null ? null : unlink(head);
+            } finally {
+                unlockWrite();
+            }
+        }
+
+        @Override
+        public E pollLast() {
+            writeLock.lock();
+            try {
+                return tail == null ? null : unlink(tail);
+            } finally {
+                unlockWrite();
+            }
+        }
+
+        @Override
+        public E takeFirst() throws InterruptedException {
+            writeLock.lockInterruptibly();
+            try {
+                while (head == null) {
+                    notEmpty.await();
+                }
+
+                return unlink(head);
+            } finally {
+                unlockWrite();
+            }
+        }
+
+        @Override
+        public E takeLast() throws InterruptedException {
+            writeLock.lockInterruptibly();
+            try {
+                while (tail == null) {
+                    notEmpty.await();
+                }
+
+                return unlink(tail);
+            } finally {
+                unlockWrite();
+            }
+        }
+
+        @Override
+        public E pollFirst(long timeout, TimeUnit unit) throws InterruptedException {
+            long nanos = unit.toNanos(timeout);
+
+            writeLock.lockInterruptibly();
+            try {
+                while (head == null) {
+                    if (nanos <= 0L) {
+                        return null;
+                    }
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+
+                return unlink(head);
+            } finally {
+                unlockWrite();
+            }
+        }
+
+        @Override
+        public E pollLast(long timeout, TimeUnit unit) throws InterruptedException {
+            long nanos = unit.toNanos(timeout);
+
+            writeLock.lockInterruptibly();
+            try {
+                while (tail == null) {
+                    if (nanos <= 0L) {
+                        return null;
+                    }
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+
+                return unlink(tail);
+            } finally {
+                unlockWrite();
+            }
+        }
+
+        @Override
+        public E getFirst() {
+            E element = peekFirst();
+            if (element == null) {
+                throw new NoSuchElementException();
+            }
+
+            return element;
+        }
+
+        @Override
+        public E getLast() {
+            E element = peekLast();
+            if (element == null) {
+                throw new NoSuchElementException();
+            }
+
+            return element;
+        }
+
+        @Override
+        public E peekFirst() {
+            readLock.lock();
+            try {
+                return head == null ? null : head.element;
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        @Override
+        public E peekLast() {
+            readLock.lock();
+            try {
+                return tail == null ? null : tail.element;
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        @Override
+        public boolean removeFirstOccurrence(Object o) {
+            return o != null && ConcurrentCustomLinkedList.this.remove(o);
+        }
+
+        @Override
+        public boolean removeLastOccurrence(Object o) {
+            if (o == null) {
+                return false;
+            }
+
+            writeLock.lock();
+            try {
+                if (lookupIndex != null) {
+                    final Node<E> node = lookupIndex.last(o);
+                    if (node == null) {
+                        return false;
+                    }
+                    unlink(node);
+                    return true;
+                }
+
+                for (Node<E> node = tail; node != null; node = node.prev) {
+                    if (o.equals(node.element)) {
+                        unlink(node);
+                        return true;
+                    }
+                }
+            } finally {
+                unlockWrite();
+            }
+
+            return false;
+        }
+
+        @Override
+        public boolean offer(E e) {
+            return offerLast(e);
+        }
+
+        @Override
+        public void put(E e) {
+            putLast(e);
+        }
+
+        @Override
+        public boolean offer(E e, long timeout, TimeUnit unit) {
+            return offerLast(e, timeout, unit);
+        }
+
+        @Override
+        public E poll() {
+            return pollFirst();
+        }
+
+        @Override
+        public E take() throws InterruptedException {
+            return takeFirst();
+        }
+
+        @Override
+        public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+            return pollFirst(timeout, unit);
+        }
+
+        @Override
+        public E peek() {
+            return peekFirst();
+        }
+
+        @Override
+        public void push(E e) {
+            addFirst(e);
+        }
 
-        /**
-         * Index of element returned by most recent call to next or previous.
-         * Reset to -1 if this element is deleted by call to remove.
-         */
-        int lastReturned = -1;
+        @Override
+        public E pop() {
+            return removeFirst();
+        }
 
-        /**
-         * Returns {@code true} if iteration has more elements.
-         *
-         * @return {@code true} if iteration has more elements
-         */
-        public boolean hasNext() {
-            return cursor != size();
+        @Override
+        public int remainingCapacity() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public int drainTo(Collection<? super E> c) {
+            return drainTo(c, Integer.MAX_VALUE);
         }
 
         /**
-         * Returns the next element in iteration.
+         * Removes at most specified number of elements from the front of list
+         * and adds them to given collection under single acquisition of lock.
          *
-         * @return the next element in iteration
-         * @throws NoSuchElementException if iteration has no more elements
+         * @param c           collection to transfer elements into
+         * @param maxElements maximum number of elements to transfer
+         * @return number of elements transferred
+         * @throws IllegalArgumentException if collection is this view or backing list
          */
-        public E next() {
+        @Override
+        public int drainTo(Collection<? super E> c, int maxElements) {
+            Objects.requireNonNull(c);
+            if (c == this || c == ConcurrentCustomLinkedList.this) {
+                throw new IllegalArgumentException();
+            }
+
+            int drained = 0;
+
+            writeLock.lock();
             try {
-                int i = cursor;
-                E next = get(i);
-                lastReturned = i;
-                cursor = i + 1;
-                return next;
-            } catch (IndexOutOfBoundsException e) {
-                throw new NoSuchElementException();
+                while (drained < maxElements && head != null) {
+                    c.add(unlink(head));
+                    drained++;
+                }
+            } finally {
+                unlockWrite();
             }
+
+            return drained;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return removeFirstOccurrence(o);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o != null && ConcurrentCustomLinkedList.this.contains(o);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return ConcurrentCustomLinkedList.this.iterator();
         }
 
         /**
-         * Removes from list the last element returned by iterator.
-         *
-         * @throws IllegalStateException if {@code next} method has not
-         *                               yet been called or {@code remove} method has already
-         *                               been called after the last call to {@code next} method
+         * Returns iterator over snapshot of elements taken in reverse order.
+         * Iterator does not support {@code remove} method.
          */
-        public void remove() {
-            if (lastReturned < 0) {
-                throw new IllegalStateException();
-            }
+        @Override
+        public Iterator<E> descendingIterator() {
+            final Object[] snapshot;
 
+            readLock.lock();
             try {
-                ConcurrentCustomLinkedList.this.remove(lastReturned);
-                if (lastReturned < cursor) {
-                    cursor--;
+                snapshot = new Object[size];
+                int i = 0;
+                for (Node<E> node = tail; node != null; node = node.prev) {
+                    snapshot[i++] = node.element;
                 }
-
-                lastReturned = -1;
-            } catch (IndexOutOfBoundsException e) {
-                throw new ConcurrentModificationException();
+            } finally {
+                readLock.unlock();
             }
+
+            return new Iterator<E>() {
+                private int cursor = 0;
+
+                public boolean hasNext() {
+                    return cursor < snapshot.length;
+                }
+
+                @SuppressWarnings("unchecked")
+                public E next() {
+                    if (cursor >= snapshot.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return (E) snapshot[cursor++];
+                }
+            };
         }
     }
 
@@ -206,8 +992,11 @@ public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
      */
     @Override
     public E remove(int index) {
-        synchronized (lock) {
+        writeLock.lock();
+        try {
             return unlink(getNodeByIndex(index));
+        } finally {
+            unlockWrite();
         }
     }
 
@@ -219,22 +1008,24 @@ public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
      */
     @Override
     public boolean remove(Object element) {
-        synchronized (lock) {
-            if (element == null) {
-                for (Node<E> node = head; node != null; node = node.next) {
-                    if (node.element == null) {
-                        unlink(node);
-                        return true;
-                    }
-                }
-            } else {
-                for (Node<E> node = head; node != null; node = node.next) {
-                    if (element.equals(node.element)) {
-                        unlink(node);
-                        return true;
-                    }
+        writeLock.lock();
+        try {
+            if (lookupIndex != null) {
+                final Node<E> node = lookupIndex.first(element);
+                if (node == null) {
+                    return false;
                 }
+                unlink(node);
+                return true;
+            }
+
+            final Node<E> node = firstNodeOf(element);
+            if (node != null) {
+                unlink(node);
+                return true;
             }
+        } finally {
+            unlockWrite();
         }
 
         return false;
@@ -287,12 +1078,138 @@ public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
         return builder.toString();
     }
 
+    /**
+     * Turns indexed lookup mode on or off. In indexed mode list maintains hash index of its nodes
+     * by element, keeping nodes of duplicated element in list order, so {@link #contains(Object)},
+     * {@link #remove(Object)} and {@link java.util.Deque#removeLastOccurrence(Object)} take constant
+     * expected time instead of scan under lock, at the cost of {@link ElementIndex#estimatedBytes()} of memory.
+     * Insertion of duplicate in the middle of list looks for the nearest node of the same element around it
+     * to register new node in order.
+     * Turning mode on builds index from current elements in linear time.
+     *
+     * @param indexed {@code true} to maintain index, {@code false} to drop it
+     */
+    public void setIndexed(boolean indexed) {
+        writeLock.lock();
+        try {
+            if (!indexed) {
+                lookupIndex = null;
+            } else if (lookupIndex == null) {
+                lookupIndex = new ElementIndex<>();
+                for (Node<E> node = head; node != null; node = node.next) {
+                    lookupIndex.add(node.element, node);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns {@code true} if indexed lookup mode is on.
+     *
+     * @return {@code true} if list maintains hash index of elements
+     */
+    public boolean isIndexed() {
+        readLock.lock();
+        try {
+            return lookupIndex != null;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns estimated number of bytes occupied by hash index, 0 unless indexed lookup mode is on.
+     *
+     * @return estimated footprint of index in bytes
+     */
+    public long indexBytes() {
+        readLock.lock();
+        try {
+            return lookupIndex != null ? lookupIndex.estimatedBytes() : 0;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns immutable exactly-sized snapshot of list, which can be shared between threads without locking.
+     * Snapshot is collected in single pass over nodes under read lock once and then cached: subsequent calls return the same snapshot
+     * without locking until the next modification of list.
+     *
+     * @return frozen snapshot of list
+     */
+    public FrozenList<E> snapshot() {
+        FrozenList<E> snapshot = frozen;
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        readLock.lock();
+        try {
+            snapshot = frozen;
+            if (snapshot == null) {
+                final FrozenList.Builder<E> builder = FrozenList.builder(size);
+                for (Node<E> node = head; node != null; node = node.next) {
+                    builder.add(node.element);
+                }
+                snapshot = builder.build();
+                frozen = snapshot;
+            }
+        } finally {
+            readLock.unlock();
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Returns estimated memory footprint of list computed from number of nodes under read lock.
+     * Lock structures are not accounted.
+     *
+     * @return footprint of list
+     */
+    public MemoryStats footprint() {
+        readLock.lock();
+        try {
+            return new MemoryStats(MemoryStats.instanceBytes(getClass()) + size * MemoryStats.instanceBytes(Node.class),
+                    lookupIndex != null ? lookupIndex.estimatedBytes() : 0, size, size, 0);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Compacts journal of durable list into single segment holding current elements,
+     * so that journal size and replay time are proportional to size of list rather than to its history.
+     * Blocks modifications of list while compacted segment is written.
+     *
+     * @throws IllegalStateException if list is not durable or its journal is closed
+     * @throws UncheckedIOException  if journal can not be compacted
+     */
+    public void compactJournal() {
+        if (journal == null) {
+            throw new IllegalStateException("List is not durable");
+        }
+
+        writeLock.lock();
+        try {
+            journal.compact(toArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     /**
      * Returns (non-null) node at specified element index.
      */
     private Node<E> getNodeByIndex(int index) {
         checkElementIndex(index);
 
+        final long start = ListMetrics.ENABLED ? ListMetrics.beginTraversal(this) : 0L;
         Node<E> node;
         if (isElementInFirstHalf(index, size)) {
             node = head;
@@ -306,9 +1223,41 @@ public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
             }
         }
 
+        if (ListMetrics.ENABLED) {
+            ListMetrics.traversal(this, size, Math.min(index, size - 1 - index), System.nanoTime() - start);
+        }
+
+        return node;
+    }
+
+    /**
+     * Returns the first node containing specified element or {@code null} if list does not contain element.
+     */
+    private Node<E> firstNodeOf(Object element) {
+        final long start = ListMetrics.ENABLED ? ListMetrics.beginTraversal(this) : 0L;
+        int hops = 0;
+        Node<E> node = head;
+        while (node != null && !Objects.equals(element, node.element)) {
+            node = node.next;
+            hops++;
+        }
+
+        if (ListMetrics.ENABLED) {
+            ListMetrics.traversal(this, size, hops, System.nanoTime() - start);
+        }
+
         return node;
     }
 
+    /**
+     * Checks whether specified index is valid position for insertion.
+     */
+    private void checkPositionIndex(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Position index = " + index + ", list size = " + size);
+        }
+    }
+
     /**
      * Checks whether specified index is in range of list size.
      */
@@ -325,6 +1274,164 @@ public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
         return index < (size / 2);
     }
 
+    /**
+     * Returns index of linked node, walking from both ends of list at once,
+     * so nodes near head or tail, removed by queue operations, are found in constant time.
+     */
+    private int indexOfNode(Node<E> node) {
+        Node<E> forward = head;
+        Node<E> backward = tail;
+        for (int i = 0; ; i++) {
+            if (forward == node) {
+                return i;
+            }
+            if (backward == node) {
+                return size - 1 - i;
+            }
+            forward = forward.next;
+            backward = backward.prev;
+        }
+    }
+
+    /**
+     * Releases write lock and, if list is durable, waits until records of modifications
+     * are forced to storage device as required by sync interval of journal.
+     */
+    private void unlockWrite() {
+        writeLock.unlock();
+
+        if (journal != null) {
+            journal.commit();
+        }
+    }
+
+    /**
+     * Target replaying journal records into list while it is constructed, before journal is attached.
+     */
+    private class JournalReplay implements ListJournal.Replay<E> {
+
+        @Override
+        public void reset() {
+            frozen = null;
+            modCount++;
+            head = null;
+            tail = null;
+            size = 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void insert(int index, Object[] elements) {
+            checkPositionIndex(index);
+
+            final Node<E> first = newChain((E[]) elements, 0, elements.length);
+            Node<E> last = first;
+            while (last.next != null) {
+                last = last.next;
+            }
+
+            linkChainBefore(first, last, elements.length, index == size ? null : getNodeByIndex(index));
+        }
+
+        @Override
+        public void remove(int index) {
+            unlink(getNodeByIndex(index));
+        }
+    }
+
+    /**
+     * Links element as last one and wakes up single waiting consumer.
+     */
+    private void linkLast(E element) {
+        if (journal != null) {
+            journal.appendInsert(size, element);
+        }
+
+        frozen = null;
+        modCount++;
+
+        final Node<E> last = tail;
+        final Node<E> newNode = new Node<>(element, last, null);
+        tail = newNode;
+
+        if (last == null) {
+            head = newNode;
+        } else {
+            last.next = newNode;
+        }
+
+        size++;
+
+        if (lookupIndex != null) {
+            lookupIndex.add(element, newNode);
+        }
+
+        notEmpty.signal();
+    }
+
+    /**
+     * Links element as first one and wakes up single waiting consumer.
+     */
+    private void linkFirst(E element) {
+        if (journal != null) {
+            journal.appendInsert(0, element);
+        }
+
+        frozen = null;
+        modCount++;
+
+        final Node<E> first = head;
+        final Node<E> newNode = new Node<>(element, null, first);
+        head = newNode;
+
+        if (first == null) {
+            tail = newNode;
+        } else {
+            first.prev = newNode;
+        }
+
+        size++;
+
+        if (lookupIndex != null) {
+            lookupIndex.addFirst(element, newNode);
+        }
+
+        notEmpty.signal();
+    }
+
+    /**
+     * Registers linked node in hash index at its position among nodes of the same element.
+     * Nodes are looked up in both directions from node, starting at its predecessor and
+     * at {@code following}, the nearest registered node after it, until node of the same element
+     * or end of list is met, so cost is proportional to distance to the nearest duplicate.
+     */
+    private void indexNode(Node<E> node, Node<E> following) {
+        final E element = node.element;
+        if (following == null || !lookupIndex.contains(element)) {
+            lookupIndex.add(element, node);
+            return;
+        }
+
+        for (Node<E> before = node.prev, after = following; ; before = before.prev, after = after.next) {
+            if (before == null) {
+                lookupIndex.addFirst(element, node);
+                return;
+            }
+            if (Objects.equals(element, before.element)) {
+                lookupIndex.add(element, node, before, false);
+                return;
+            }
+            if (after == null) {
+                lookupIndex.add(element, node);
+                return;
+            }
+            if (Objects.equals(element, after.element)) {
+                lookupIndex.add(element, node, after, true);
+                return;
+            }
+        }
+    }
+
     /**
      * Unlinks non-null node.
      */
@@ -333,6 +1440,13 @@ public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
             throw new IllegalArgumentException("Cannot unlink null node");
         }
 
+        if (journal != null) {
+            journal.appendRemove(indexOfNode(node));
+        }
+
+        frozen = null;
+        modCount++;
+
         final E element = node.element;
         final Node<E> next = node.next;
         final Node<E> prev = node.prev;
@@ -351,6 +1465,10 @@ public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
             node.next = null;
         }
 
+        if (lookupIndex != null) {
+            lookupIndex.remove(element, node);
+        }
+
         node.element = null;
 
         size--;
@@ -368,9 +1486,42 @@ public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns index of the first occurrence of specified element with the lowest index
+     * in list or -1 if this list does not contain the element.
+     * Absent element is detected in constant expected time in indexed lookup mode.
+     *
+     * @param o element to search for
+     * @return index of the first occurrence of specified element in
+     * list or -1 if list does not contain element
+     */
     @Override
     public int indexOf(Object o) {
-        throw new UnsupportedOperationException();
+        readLock.lock();
+        try {
+            if (lookupIndex != null && !lookupIndex.contains(o)) {
+                return -1;
+            }
+
+            int i = 0;
+            if (o == null) {
+                for (Node<E> node = head; node != null; node = node.next, i++) {
+                    if (node.element == null) {
+                        return i;
+                    }
+                }
+            } else {
+                for (Node<E> node = head; node != null; node = node.next, i++) {
+                    if (o.equals(node.element)) {
+                        return i;
+                    }
+                }
+            }
+        } finally {
+            readLock.unlock();
+        }
+
+        return -1;
     }
 
     @Override
@@ -398,16 +1549,6 @@ public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
         throw new UnsupportedOperationException();
     }
 
-    @Override
-    public boolean addAll(Collection<? extends E> c) {
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public boolean addAll(int index, Collection<? extends E> c) {
-        throw new UnsupportedOperationException();
-    }
-
     @Override
     public boolean removeAll(Collection<?> c) {
         throw new UnsupportedOperationException();
@@ -423,20 +1564,80 @@ public class ConcurrentCustomLinkedList<E> implements List<E>, Serializable {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns {@code true} if list contains specified element.
+     * Takes constant expected time in indexed lookup mode.
+     *
+     * @param o element whose presence in list is to be tested
+     * @return {@code true} if list contains specified element
+     */
     @Override
     public boolean contains(Object o) {
-        throw new UnsupportedOperationException();
+        readLock.lock();
+        try {
+            if (lookupIndex != null) {
+                return lookupIndex.contains(o);
+            }
+        } finally {
+            readLock.unlock();
+        }
+
+        return indexOf(o) >= 0;
     }
 
+    /**
+     * Returns array containing all elements of list in proper sequence,
+     * copied under read lock as consistent snapshot.
+     *
+     * @return array containing all elements of list
+     */
     @Override
     public Object[] toArray() {
-//        return new Object[0];
-        throw new UnsupportedOperationException();
+        readLock.lock();
+        try {
+            Object[] array = new Object[size];
+            int i = 0;
+            for (Node<E> node = head; node != null; node = node.next) {
+                array[i++] = node.element;
+            }
+
+            return array;
+        } finally {
+            readLock.unlock();
+        }
     }
 
+    /**
+     * Returns array containing all elements of list in proper sequence,
+     * runtime type of returned array is that of specified array.
+     * Elements are copied under read lock as consistent snapshot.
+     *
+     * @param a array into which elements of list are to be stored if it is big enough
+     * @return array containing elements of list
+     * @throws ArrayStoreException  if runtime type of specified array is not a supertype of every element
+     * @throws NullPointerException if specified array is null
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T[] toArray(T[] a) {
-        throw new UnsupportedOperationException();
+        readLock.lock();
+        try {
+            if (a.length < size) {
+                a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+            }
+
+            int i = 0;
+            for (Node<E> node = head; node != null; node = node.next) {
+                a[i++] = (T) node.element;
+            }
+            if (a.length > size) {
+                a[size] = null;
+            }
+
+            return a;
+        } finally {
+            readLock.unlock();
+        }
     }
 
 }
@@ -0,0 +1,871 @@
+package com.clevertec.collection.concurrent;
+
+import com.clevertec.collection.mapped.ElementCodec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Segmented append-only write-ahead log making {@link ConcurrentCustomLinkedList} durable.
+ * Journaled list appends record of every insertion and removal while holding its write lock,
+ * so order of records is order of modifications. Records are collected in memory and written
+ * to the current segment file by group commit: single thread writes and forces records of all
+ * threads waiting for durability at once, the others wait for it instead of forcing file themselves.
+ * <p>
+ * Sync interval selects guarantee of list mutators:
+ * <ul>
+ * <li>0 - mutator returns after its record is forced to storage device;</li>
+ * <li>positive - mutator returns immediately, background thread forces records every interval,
+ * so up to one interval of modifications may be lost on crash.</li>
+ * </ul>
+ * Every record is framed by its length and CRC32C checksum, recovery stops at the first torn record
+ * of the last segment and truncates it. After replay list compacts journal into a single segment
+ * holding its current elements. Elements are encoded by fixed-width {@link ElementCodec}.
+ *
+ * @param <E> type of journaled elements
+ * @see ConcurrentCustomLinkedList#ConcurrentCustomLinkedList(LockingMode, ListJournal)
+ */
+public final class ListJournal<E> implements Closeable {
+
+    /**
+     * Default maximum size of segment file, segment is rolled over after reaching it.
+     */
+    private static final long DEFAULT_SEGMENT_BYTES = 64L << 20;
+
+    /**
+     * Initial capacity of buffers of records awaiting write.
+     */
+    private static final int INITIAL_BUFFER_BYTES = 1 << 16;
+
+    /**
+     * Maximum number of elements in single record written by compaction.
+     */
+    private static final int COMPACTION_CHUNK = 1 << 12;
+
+    /**
+     * Value of the first segment header field identifying segment file.
+     */
+    private static final int MAGIC = 0x434C574C;
+
+    /**
+     * Number of bytes of segment header: magic and element width.
+     */
+    private static final int SEGMENT_HEADER_BYTES = 8;
+
+    /**
+     * Number of bytes of record frame preceding payload: payload length and checksum.
+     */
+    private static final int FRAME_BYTES = 8;
+
+    private static final byte INSERT = 1;
+
+    private static final byte REMOVE = 2;
+
+    private static final byte RESET = 3;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    /**
+     * Target of replayed records, implemented by journaled list.
+     */
+    interface Replay<E> {
+
+        /**
+         * Removes all elements.
+         */
+        void reset();
+
+        /**
+         * Inserts elements at specified position.
+         */
+        void insert(int index, Object[] elements);
+
+        /**
+         * Removes element at specified position.
+         */
+        void remove(int index);
+    }
+
+    private final Path directory;
+
+    private final ElementCodec<E> codec;
+
+    private final int width;
+
+    private final long segmentBytes;
+
+    private final long syncNanos;
+
+    /**
+     * Lock guarding buffers, counters and state of group commit.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Condition signalled when thread writing records finishes.
+     */
+    private final Condition written = lock.newCondition();
+
+    /**
+     * Buffer collecting records awaiting write.
+     */
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+
+    /**
+     * Buffer of records being written, swapped with {@link #pending} by writing thread.
+     */
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+
+    /**
+     * Total number of bytes of records appended since journal was opened.
+     */
+    private volatile long appendedBytes;
+
+    /**
+     * Total number of bytes of records written and forced since journal was opened.
+     */
+    private volatile long durableBytes;
+
+    /**
+     * Whether some thread is writing records or compacting journal.
+     */
+    private boolean writing;
+
+    /**
+     * Failure of write of records, rethrown to every subsequent committer since records
+     * of failed batch are lost and journal no longer matches list.
+     */
+    private volatile IOException failure;
+
+    /**
+     * Sequence number of current segment.
+     */
+    private long segmentNumber;
+
+    /**
+     * Channel of current segment, {@code null} until journal is compacted by attached list.
+     */
+    private FileChannel channel;
+
+    /**
+     * Sequence numbers of segment files found when journal was opened, in ascending order.
+     */
+    private final List<Long> recoveredSegments;
+
+    /**
+     * Whether journal has been attached to list.
+     */
+    private boolean attached;
+
+    /**
+     * Whether journal has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Background thread forcing records every sync interval, {@code null} for synchronous commit.
+     */
+    private Thread syncThread;
+
+    private final CRC32C checksum = new CRC32C();
+
+    private ListJournal(Path directory, ElementCodec<E> codec, long syncNanos, long segmentBytes,
+                        List<Long> recoveredSegments) {
+        this.directory = directory;
+        this.codec = codec;
+        this.width = codec.width();
+        this.syncNanos = syncNanos;
+        this.segmentBytes = segmentBytes;
+        this.recoveredSegments = recoveredSegments;
+        this.segmentNumber = recoveredSegments.isEmpty() ? 0 : recoveredSegments.get(recoveredSegments.size() - 1);
+    }
+
+    /**
+     * Opens journal stored in specified directory with default segment size, creating directory if needed.
+     * Journal is replayed and compacted when it is passed to constructor of list.
+     *
+     * @param directory    directory of segment files
+     * @param codec        codec of elements
+     * @param syncInterval interval of forcing records to storage device, 0 to force them before mutator returns
+     * @param unit         time unit of interval
+     * @param <E>          type of journaled elements
+     * @return journal stored in directory
+     * @throws IOException              if directory can not be created or read
+     * @throws IllegalArgumentException if interval is negative or codec width is not positive
+     */
+    public static <E> ListJournal<E> open(Path directory, ElementCodec<E> codec,
+                                          long syncInterval, TimeUnit unit) throws IOException {
+        return open(directory, codec, syncInterval, unit, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Opens journal stored in specified directory, creating directory if needed.
+     * Journal is replayed and compacted when it is passed to constructor of list.
+     *
+     * @param directory    directory of segment files
+     * @param codec        codec of elements
+     * @param syncInterval interval of forcing records to storage device, 0 to force them before mutator returns
+     * @param unit         time unit of interval
+     * @param segmentBytes size of segment file after which the next segment is started
+     * @param <E>          type of journaled elements
+     * @return journal stored in directory
+     * @throws IOException              if directory can not be created or read
+     * @throws IllegalArgumentException if interval is negative, segment size or codec width is not positive
+     */
+    public static <E> ListJournal<E> open(Path directory, ElementCodec<E> codec, long syncInterval,
+                                          TimeUnit unit, long segmentBytes) throws IOException {
+        Objects.requireNonNull(codec);
+        if (syncInterval < 0) {
+            throw new IllegalArgumentException("Illegal sync interval: " + syncInterval);
+        }
+        if (segmentBytes <= 0) {
+            throw new IllegalArgumentException("Illegal segment size: " + segmentBytes);
+        }
+        if (codec.width() <= 0) {
+            throw new IllegalArgumentException("Illegal element width: " + codec.width());
+        }
+
+        Files.createDirectories(directory);
+        List<Long> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Iterator<Path> it = files.iterator(); it.hasNext(); ) {
+                String name = it.next().getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(TEMPORARY_SUFFIX)) {
+                    Files.delete(directory.resolve(name));
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    segments.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())));
+                }
+            }
+        }
+        segments.sort(null);
+
+        return new ListJournal<>(directory, codec, unit.toNanos(syncInterval), segmentBytes, segments);
+    }
+
+    /**
+     * Replays records of all segments into list, then compacts journal into new segment holding
+     * elements supplied by list and starts background sync if it is configured. Called once by list
+     * constructor under write lock.
+     */
+    void attach(Replay<E> target, Supplier<Object[]> elements) {
+        lock.lock();
+        try {
+            if (attached) {
+                throw new IllegalStateException("Journal is already attached to list");
+            }
+            ensureOpen();
+            attached = true;
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            for (int i = 0; i < recoveredSegments.size(); i++) {
+                replay(recoveredSegments.get(i), i == recoveredSegments.size() - 1, target);
+            }
+            compact(elements.get());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (syncNanos > 0) {
+            syncThread = new Thread(this::syncPeriodically, "list-journal-sync");
+            syncThread.setDaemon(true);
+            syncThread.start();
+        }
+    }
+
+    /**
+     * Appends record of insertion of single element. Called under write lock of list before modification.
+     */
+    void appendInsert(int index, E element) {
+        lock.lock();
+        try {
+            ensureOpen();
+            final int start = beginRecord(1 + 2 * Integer.BYTES + width);
+            pending.put(INSERT).putInt(index).putInt(1);
+            encode(start, element);
+            endRecord(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends record of insertion of {@code count} elements returned by iterator.
+     * Called under write lock of list before modification.
+     */
+    void appendInsert(int index, int count, Iterator<? extends E> elements) {
+        lock.lock();
+        try {
+            ensureOpen();
+            final int start = beginRecord(1 + 2 * Integer.BYTES + (long) count * width);
+            pending.put(INSERT).putInt(index).putInt(count);
+            for (int i = 0; i < count; i++) {
+                encode(start, elements.next());
+            }
+            endRecord(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends record of removal of element. Called under write lock of list before modification.
+     */
+    void appendRemove(int index) {
+        lock.lock();
+        try {
+            ensureOpen();
+            final int start = beginRecord(1 + Integer.BYTES);
+            pending.put(REMOVE).putInt(index);
+            endRecord(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until all records appended so far are forced to storage device, writing them itself
+     * unless another thread is already doing it. Returns immediately if sync interval is positive.
+     * Called by mutators of list after releasing write lock.
+     *
+     * @throws UncheckedIOException if records can not be written or earlier background sync failed
+     */
+    void commit() {
+        if (syncNanos == 0 && durableBytes < appendedBytes) {
+            sync(appendedBytes);
+        } else {
+            checkFailure();
+        }
+    }
+
+    /**
+     * Writes and forces all records appended so far, regardless of sync interval.
+     *
+     * @throws UncheckedIOException  if records can not be written
+     * @throws IllegalStateException if journal is closed
+     */
+    public void sync() {
+        ensureOpen();
+        checkFailure();
+        sync(appendedBytes);
+    }
+
+    /**
+     * Replaces all segments by new segment holding specified elements. Called under write lock of list,
+     * so no records are appended meanwhile. Pending records are written to current segment first,
+     * then new segment is written to temporary file and renamed, and only after that current segment is
+     * switched and older segments are deleted. Failure at any step leaves current segment open
+     * and holding every record, and crash at any moment leaves replayable journal.
+     */
+    void compact(Object[] elements) throws IOException {
+        acquireWriting();
+        try {
+            ensureOpen();
+            if (channel != null) {
+                try {
+                    writePending();
+                } catch (IOException e) {
+                    fail(e);
+                    throw e;
+                }
+            }
+
+            final long compactedNumber = segmentNumber + 1;
+            final Path temporary = directory.resolve(segmentName(compactedNumber) + TEMPORARY_SUFFIX);
+            final Path compacted = directory.resolve(segmentName(compactedNumber));
+            final long appendedBefore = appendedBytes;
+            final FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            try {
+                try (out) {
+                    lock.lock();
+                    try {
+                        writeSegmentHeader(out);
+                        final int start = beginRecord(1);
+                        pending.put(RESET);
+                        endRecord(start);
+                        for (int from = 0; from < elements.length; from += COMPACTION_CHUNK) {
+                            final int count = Math.min(COMPACTION_CHUNK, elements.length - from);
+                            final int chunkStart = beginRecord(1 + 2 * Integer.BYTES + (long) count * width);
+                            pending.put(INSERT).putInt(from).putInt(count);
+                            for (int i = from; i < from + count; i++) {
+                                @SuppressWarnings("unchecked")
+                                E element = (E) elements[i];
+                                encode(chunkStart, element);
+                            }
+                            endRecord(chunkStart);
+                            writeBuffer(out, pending);
+                        }
+                        writeBuffer(out, pending);
+                    } finally {
+                        lock.unlock();
+                    }
+                    out.force(true);
+                }
+                Files.move(temporary, compacted, StandardCopyOption.ATOMIC_MOVE);
+                syncDirectory();
+            } catch (IOException | RuntimeException e) {
+                lock.lock();
+                try {
+                    pending.clear();
+                    appendedBytes = appendedBefore;
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+
+            final FileChannel previous = channel;
+            channel = FileChannel.open(compacted, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            segmentNumber = compactedNumber;
+            durableBytes = appendedBytes;
+            if (previous != null) {
+                previous.close();
+            }
+
+            recoveredSegments.clear();
+            deleteSegmentsBefore(compactedNumber);
+        } finally {
+            releaseWriting();
+        }
+    }
+
+    /**
+     * Deletes all segment files with number less than specified one.
+     */
+    private void deleteSegmentsBefore(long number) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Iterator<Path> it = files.iterator(); it.hasNext(); ) {
+                String name = it.next().getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)
+                        && Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                        name.length() - SEGMENT_SUFFIX.length())) < number) {
+                    Files.delete(directory.resolve(name));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns number of bytes of records appended but not yet forced to storage device.
+     *
+     * @return number of bytes awaiting sync
+     */
+    public long unsyncedBytes() {
+        return appendedBytes - durableBytes;
+    }
+
+    /**
+     * Stops background sync, writes and forces all appended records and closes current segment.
+     * Journaled list must not be modified afterwards. Closing already closed journal has no effect.
+     *
+     * @throws IOException if records can not be written or segment can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+
+        if (syncThread != null) {
+            LockSupport.unpark(syncThread);
+            try {
+                syncThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        acquireWriting();
+        try {
+            if (channel != null) {
+                writePending();
+                channel.close();
+            }
+        } finally {
+            releaseWriting();
+        }
+    }
+
+    /**
+     * Group commit: becomes writer of all pending records unless other thread is writing,
+     * in which case waits for it and rechecks whether its records are durable.
+     */
+    private void sync(long target) {
+        lock.lock();
+        try {
+            while (durableBytes < target) {
+                if (failure != null) {
+                    throw new UncheckedIOException(failure);
+                }
+                if (writing) {
+                    written.awaitUninterruptibly();
+                    continue;
+                }
+
+                writing = true;
+                lock.unlock();
+                try {
+                    writePending();
+                } catch (IOException e) {
+                    fail(e);
+                } finally {
+                    lock.lock();
+                    writing = false;
+                    written.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores failure of write, the first one is kept.
+     */
+    private void fail(IOException e) {
+        lock.lock();
+        try {
+            if (failure == null) {
+                failure = e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rethrows stored failure of write, if any.
+     */
+    private void checkFailure() {
+        final IOException e = failure;
+        if (e != null) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Swaps pending buffer, writes its records to current segment and forces them, rolling over
+     * to the next segment if current one is full. Must be called by thread holding writing role.
+     */
+    private void writePending() throws IOException {
+        final ByteBuffer batch;
+        final long batchEnd;
+
+        lock.lock();
+        try {
+            batch = pending;
+            batchEnd = appendedBytes;
+            spare.clear();
+            pending = spare;
+            spare = batch;
+        } finally {
+            lock.unlock();
+        }
+
+        if (batch.position() > 0) {
+            writeBuffer(channel, batch);
+            channel.force(false);
+            if (channel.size() >= segmentBytes) {
+                rollSegment();
+            }
+        }
+
+        durableBytes = batchEnd;
+    }
+
+    /**
+     * Closes full segment and starts the next one.
+     */
+    private void rollSegment() throws IOException {
+        channel.close();
+        segmentNumber++;
+        channel = FileChannel.open(directory.resolve(segmentName(segmentNumber)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        writeSegmentHeader(channel);
+        channel.force(true);
+        syncDirectory();
+    }
+
+    /**
+     * Forces directory entries of segment files, so created or renamed segment survives crash
+     * before older segments are deleted or records acknowledged in it. Platforms which can not open
+     * or force directory, e.g. Windows, persist entries with file metadata, so failure is ignored.
+     */
+    private void syncDirectory() {
+        try (FileChannel entries = FileChannel.open(directory, StandardOpenOption.READ)) {
+            entries.force(true);
+        } catch (IOException e) {
+            // directory can not be forced on this platform
+        }
+    }
+
+    /**
+     * Forces records every sync interval until journal is closed or write fails. Thread is woken up
+     * by unparking rather than interruption, since interruption would close channel during write.
+     * Failure is stored by {@link #sync(long)} and rethrown by the next {@link #commit()} or {@link #sync()}.
+     */
+    private void syncPeriodically() {
+        while (!closed) {
+            LockSupport.parkNanos(this, syncNanos);
+            if (closed) {
+                return;
+            }
+
+            try {
+                sync(appendedBytes);
+            } catch (UncheckedIOException e) {
+                fail(e.getCause());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replays records of segment with specified number. Torn record at the end of the last segment
+     * is truncated, invalid record anywhere else means that journal is corrupted.
+     */
+    private void replay(long number, boolean last, Replay<E> target) throws IOException {
+        final Path path = directory.resolve(segmentName(number));
+        final ByteBuffer buffer;
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (in.size() > Integer.MAX_VALUE) {
+                throw new IOException("Segment " + path + " is too large");
+            }
+            buffer = ByteBuffer.allocate((int) in.size());
+            while (buffer.hasRemaining() && in.read(buffer) >= 0) {
+                // read whole segment
+            }
+            buffer.flip();
+        }
+
+        if (buffer.remaining() < SEGMENT_HEADER_BYTES
+                || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != width) {
+            if (last && buffer.remaining() < SEGMENT_HEADER_BYTES) {
+                return;
+            }
+            throw new IOException("Segment " + path + " is not a journal segment of element width " + width);
+        }
+
+        int position = SEGMENT_HEADER_BYTES;
+        while (position < buffer.limit()) {
+            final int end = validRecordEnd(buffer, position);
+            if (end < 0) {
+                if (!last) {
+                    throw new IOException("Segment " + path + " is corrupted at position " + position);
+                }
+                try (FileChannel out = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    out.truncate(position);
+                }
+                return;
+            }
+
+            apply(buffer, position + FRAME_BYTES, target);
+            position = end;
+        }
+    }
+
+    /**
+     * Returns end position of record starting at specified position or -1 if record is torn or damaged.
+     */
+    private int validRecordEnd(ByteBuffer buffer, int position) {
+        if (buffer.limit() - position < FRAME_BYTES) {
+            return -1;
+        }
+
+        final int length = buffer.getInt(position);
+        if (length <= 0 || length > buffer.limit() - position - FRAME_BYTES) {
+            return -1;
+        }
+
+        checksum.reset();
+        checksum.update(buffer.slice(position + FRAME_BYTES, length));
+        if ((int) checksum.getValue() != buffer.getInt(position + Integer.BYTES)) {
+            return -1;
+        }
+
+        return position + FRAME_BYTES + length;
+    }
+
+    /**
+     * Applies record payload starting at specified position to replay target.
+     */
+    private void apply(ByteBuffer buffer, int position, Replay<E> target) throws IOException {
+        switch (buffer.get(position)) {
+            case INSERT: {
+                final int index = buffer.getInt(position + 1);
+                final int count = buffer.getInt(position + 1 + Integer.BYTES);
+                final int elementsStart = position + 1 + 2 * Integer.BYTES;
+                Object[] elements = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    elements[i] = codec.read(buffer, elementsStart + i * width);
+                }
+                target.insert(index, elements);
+                break;
+            }
+            case REMOVE:
+                target.remove(buffer.getInt(position + 1));
+                break;
+            case RESET:
+                target.reset();
+                break;
+            default:
+                throw new IOException("Unknown journal record type at position " + position);
+        }
+    }
+
+    /**
+     * Reserves space for frame and payload of specified length in pending buffer,
+     * returns position of frame. Must be called under lock.
+     */
+    private int beginRecord(long payloadBytes) {
+        if (payloadBytes > Integer.MAX_VALUE - FRAME_BYTES) {
+            throw new IllegalArgumentException("Journal record is too large: " + payloadBytes + " bytes");
+        }
+
+        final int recordBytes = FRAME_BYTES + (int) payloadBytes;
+        if (pending.remaining() < recordBytes) {
+            final long required = (long) pending.position() + recordBytes;
+            ByteBuffer larger = ByteBuffer.allocate((int) Math.min(Integer.MAX_VALUE - 8,
+                    Math.max(required, (long) pending.capacity() * 2)));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+
+        final int start = pending.position();
+        pending.position(start + FRAME_BYTES);
+
+        return start;
+    }
+
+    /**
+     * Encodes element at current position of pending buffer. If codec fails, record started
+     * at specified position is discarded, so failed modification leaves no trace in journal.
+     */
+    private void encode(int recordStart, E element) {
+        final int offset = pending.position();
+        try {
+            codec.write(pending, offset, element);
+        } catch (RuntimeException e) {
+            pending.position(recordStart);
+            throw e;
+        }
+        pending.position(offset + width);
+    }
+
+    /**
+     * Fills frame of record started at specified position. Must be called under lock.
+     */
+    private void endRecord(int start) {
+        final int length = pending.position() - start - FRAME_BYTES;
+        checksum.reset();
+        checksum.update(pending.slice(start + FRAME_BYTES, length));
+        pending.putInt(start, length);
+        pending.putInt(start + Integer.BYTES, (int) checksum.getValue());
+        appendedBytes += FRAME_BYTES + length;
+    }
+
+    /**
+     * Writes flipped content of buffer to channel and clears buffer.
+     */
+    private static void writeBuffer(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes segment header to empty segment file.
+     */
+    private void writeSegmentHeader(FileChannel out) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES).putInt(MAGIC).putInt(width);
+        header.flip();
+        while (header.hasRemaining()) {
+            out.write(header);
+        }
+    }
+
+    /**
+     * Waits until no other thread is writing records and takes writing role.
+     */
+    private void acquireWriting() {
+        lock.lock();
+        try {
+            while (writing) {
+                written.awaitUninterruptibly();
+            }
+            writing = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases writing role and wakes up waiting committers.
+     */
+    private void releaseWriting() {
+        lock.lock();
+        try {
+            writing = false;
+            written.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks that journal has not been closed.
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+    }
+
+    /**
+     * Returns file name of segment with specified number, zero-padded to sort lexicographically.
+     */
+    private static String segmentName(long number) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+    }
+
+}
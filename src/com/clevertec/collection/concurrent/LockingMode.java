@@ -0,0 +1,62 @@
+package com.clevertec.collection.concurrent;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Mode of locking used by concurrent custom lists.
+ * Both modes are based on {@link java.util.concurrent.locks} rather than intrinsic monitors,
+ * so virtual thread blocked while holding or awaiting lock does not pin its carrier thread.
+ */
+public enum LockingMode {
+
+    /**
+     * Single {@link ReentrantLock} guards both readers and mutators.
+     */
+    EXCLUSIVE {
+        @Override
+        ReadWriteLock newLock() {
+            return new ExclusiveLock();
+        }
+    },
+
+    /**
+     * {@link ReentrantReadWriteLock} lets readers proceed in parallel while no mutator holds the lock.
+     * Pays off for read-mostly lists with long read operations.
+     */
+    READ_WRITE {
+        @Override
+        ReadWriteLock newLock() {
+            return new ReentrantReadWriteLock();
+        }
+    };
+
+    /**
+     * Returns new pair of read and write locks for list instance.
+     */
+    abstract ReadWriteLock newLock();
+
+    /**
+     * Pair of locks whose read and write locks are the same {@link ReentrantLock}.
+     */
+    private static class ExclusiveLock implements ReadWriteLock {
+
+        /**
+         * Lock shared by readers and mutators.
+         */
+        private final Lock lock = new ReentrantLock();
+
+        @Override
+        public Lock readLock() {
+            return lock;
+        }
+
+        @Override
+        public Lock writeLock() {
+            return lock;
+        }
+    }
+
+}
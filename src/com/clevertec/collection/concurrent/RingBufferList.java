@@ -0,0 +1,519 @@
+package com.clevertec.collection.concurrent;
+
+import com.clevertec.collection.FrozenList;
+import com.clevertec.collection.MemoryStats;
+import com.clevertec.collection.metrics.ListMetrics;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Thread-safe fixed-capacity ring buffer implementation of {@link List} interface keeping
+ * the last {@code capacity} added elements, e.g. rolling window of telemetry samples.
+ * Adding element to full list overwrites the oldest one in constant time, nothing is shifted.
+ * Index of element is relative to the oldest element retained, so {@code get(0)} is the oldest
+ * and {@code get(size() - 1)} is the most recently added element.
+ * <p>
+ * Readers never lock: element is read from its slot and validated against sequence number of
+ * the latest added element, read is retried if writer overwrote the slot meanwhile.
+ * One spare slot separates the oldest element from slot being written, so readers of the oldest
+ * element do not race with writer. Writers are serialized by lock, unless list is created
+ * by {@link #singleProducer(int)}, in which case {@code add} is wait-free but must be called by
+ * single thread at a time.
+ * Bulk reads ({@code toArray}, {@code forEach}, iteration) work on snapshot copied without locking;
+ * elements overwritten while snapshot is copied are dropped from its oldest end.
+ * Permits {@code null}.
+ *
+ * @param <E> type of contained list elements
+ * @see ConcurrentCustomArrayList
+ */
+public class RingBufferList<E> implements List<E>, RandomAccess {
+
+    /**
+     * Maximum capacity of list.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 9;
+
+    /**
+     * Slots of elements, one more than capacity of list.
+     */
+    private final AtomicReferenceArray<E> slots;
+
+    /**
+     * Maximum number of elements list retains.
+     */
+    private final int capacity;
+
+    /**
+     * Lock serializing writers, {@code null} in single-producer mode.
+     */
+    private final Lock writeLock;
+
+    /**
+     * Number of elements ever added, i.e. sequence number of the next element.
+     * Element with sequence number {@code n} is stored in slot {@code n % (capacity + 1)}.
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Slot of the next element, accessed by writer only.
+     */
+    private int writeSlot;
+
+    /**
+     * Constructs empty list of specified capacity accepting elements from any number of threads.
+     *
+     * @param capacity maximum number of elements list retains
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public RingBufferList(int capacity) {
+        this(capacity, true);
+    }
+
+    private RingBufferList(int capacity, boolean locked) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity + 1);
+        this.writeLock = locked ? ListMetrics.instrument(new ReentrantLock(), this, true) : null;
+    }
+
+    /**
+     * Returns empty list of specified capacity whose {@code add} is lock-free and wait-free.
+     * Elements must be added by single thread at a time, e.g. by dedicated sampling thread,
+     * any number of threads may read concurrently.
+     *
+     * @param capacity maximum number of elements list retains
+     * @param <E>      type of list elements
+     * @return single-producer ring buffer list
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public static <E> RingBufferList<E> singleProducer(int capacity) {
+        return new RingBufferList<>(capacity, false);
+    }
+
+    /**
+     * Appends element, overwriting the oldest element if list is full. Takes constant time.
+     *
+     * @param element element to be appended to list
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(E element) {
+        if (writeLock == null) {
+            append(element);
+            return true;
+        }
+
+        writeLock.lock();
+        try {
+            append(element);
+        } finally {
+            writeLock.unlock();
+        }
+
+        return true;
+    }
+
+    /**
+     * Appends all elements of specified collection in order of its iterator,
+     * under single acquisition of lock. Only the last {@code capacity} elements are retained.
+     *
+     * @param c collection containing elements to be added to list
+     * @return {@code true} if list changed as a result of the call
+     * @throws NullPointerException if specified collection is null
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        if (c.isEmpty()) {
+            return false;
+        }
+
+        if (writeLock == null) {
+            c.forEach(this::append);
+            return true;
+        }
+
+        writeLock.lock();
+        try {
+            c.forEach(this::append);
+        } finally {
+            writeLock.unlock();
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns element at specified position relative to the oldest element retained.
+     * Does not lock, retries read if element at specified position changed during it.
+     *
+     * @param index index of element to return, 0 for the oldest element
+     * @return element at specified position in list
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    @Override
+    public E get(int index) {
+        while (true) {
+            final long next = sequence.get();
+            final int size = (int) Math.min(next, capacity);
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Element index = " + index + ", list size = " + size);
+            }
+
+            final long position = next - size + index;
+            final E element = slots.get(slot(position));
+            if (sequence.get() - position <= capacity) {
+                return element;
+            }
+        }
+    }
+
+    /**
+     * Returns the most recently added element.
+     *
+     * @return the most recently added element
+     * @throws IndexOutOfBoundsException if list is empty
+     */
+    public E getLast() {
+        return get(size() - 1);
+    }
+
+    /**
+     * Returns number of elements retained, which never exceeds capacity.
+     *
+     * @return number of elements in list
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(sequence.get(), capacity);
+    }
+
+    /**
+     * Returns {@code true} if list contains no elements.
+     *
+     * @return {@code true} if list contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return sequence.get() == 0;
+    }
+
+    /**
+     * Returns maximum number of elements list retains.
+     *
+     * @return capacity of list
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns number of elements ever added to list, including overwritten ones.
+     *
+     * @return total number of added elements
+     */
+    public long addedCount() {
+        return sequence.get();
+    }
+
+    /**
+     * Returns {@code true} if {@code add} does not lock, i.e. list was created by {@link #singleProducer(int)}.
+     *
+     * @return {@code true} for single-producer list
+     */
+    public boolean isSingleProducer() {
+        return writeLock == null;
+    }
+
+    /**
+     * Performs specified action for each element of snapshot of list, from the oldest to the newest.
+     *
+     * @param action action to be performed for each element
+     * @throws NullPointerException if specified action is null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        for (Object element : toArray()) {
+            action.accept((E) element);
+        }
+    }
+
+    /**
+     * Performs specified action for each element of snapshot of list together with its index,
+     * from the oldest to the newest.
+     *
+     * @param action action to be performed for each element and its index
+     * @throws NullPointerException if specified action is null
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachIndexed(ObjIntConsumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        final Object[] snapshot = toArray();
+        for (int i = 0; i < snapshot.length; i++) {
+            action.accept((E) snapshot[i], i);
+        }
+    }
+
+    /**
+     * Returns iterator over snapshot of list, from the oldest element to the newest.
+     * Iterator does not support {@code remove} method.
+     *
+     * @return iterator over elements in list
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        return (Iterator<E>) Arrays.asList(toArray()).iterator();
+    }
+
+    /**
+     * Returns immutable snapshot of list, see {@link #toArray()}. Elements are copied once
+     * straight into frozen list, unless some of them were overwritten while being copied.
+     *
+     * @return frozen snapshot of list
+     */
+    @SuppressWarnings("unchecked")
+    public FrozenList<E> snapshot() {
+        final long next = sequence.get();
+        final int size = (int) Math.min(next, capacity);
+        final long first = next - size;
+
+        final FrozenList.Builder<E> builder = FrozenList.builder(size);
+        int slot = slot(first);
+        for (int i = 0; i < size; i++) {
+            builder.add((E) slots.get(slot));
+            if (++slot == slots.length()) {
+                slot = 0;
+            }
+        }
+        final FrozenList<E> snapshot = builder.build();
+
+        final long firstValid = sequence.get() - capacity;
+        if (firstValid > first) {
+            final int dropped = (int) Math.min(size, firstValid - first);
+            return FrozenList.copyOf(snapshot.subList(dropped, size).toArray(), size - dropped);
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Returns array containing elements of list from the oldest to the newest, copied without locking.
+     * Elements overwritten by writer while they are copied are dropped, so array may be shorter than
+     * {@link #size()} under heavy writing, but always holds consecutive most recent elements.
+     *
+     * @return array containing elements of list
+     */
+    @Override
+    public Object[] toArray() {
+        final long next = sequence.get();
+        final int size = (int) Math.min(next, capacity);
+        final long first = next - size;
+
+        Object[] array = new Object[size];
+        int slot = slot(first);
+        for (int i = 0; i < size; i++) {
+            array[i] = slots.get(slot);
+            if (++slot == slots.length()) {
+                slot = 0;
+            }
+        }
+
+        final long firstValid = sequence.get() - capacity;
+        if (firstValid > first) {
+            return Arrays.copyOfRange(array, (int) Math.min(size, firstValid - first), size);
+        }
+
+        return array;
+    }
+
+    /**
+     * Returns array containing elements of snapshot of list, see {@link #toArray()},
+     * runtime type of returned array is that of specified array.
+     *
+     * @param a array into which elements of list are to be stored if it is big enough
+     * @return array containing elements of list
+     * @throws ArrayStoreException  if runtime type of specified array is not a supertype of elements
+     * @throws NullPointerException if specified array is null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        final Object[] snapshot = toArray();
+        if (a.length < snapshot.length) {
+            a = (T[]) Array.newInstance(a.getClass().getComponentType(), snapshot.length);
+        }
+
+        System.arraycopy(snapshot, 0, a, 0, snapshot.length);
+        if (a.length > snapshot.length) {
+            a[snapshot.length] = null;
+        }
+
+        return a;
+    }
+
+    /**
+     * Returns {@code true} if snapshot of list contains specified element.
+     *
+     * @param o element whose presence in list is to be tested
+     * @return {@code true} if list contains specified element
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Returns index of the first occurrence of specified element in snapshot of list
+     * or -1 if it does not contain the element.
+     *
+     * @param o element to search for
+     * @return index of the first occurrence of element or -1 if list does not contain it
+     */
+    @Override
+    public int indexOf(Object o) {
+        final Object[] snapshot = toArray();
+        for (int i = 0; i < snapshot.length; i++) {
+            if (Objects.equals(o, snapshot[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns estimated memory footprint of list computed from number of slots.
+     * Slots not occupied yet are reported as wasted. Lock structures are not accounted.
+     *
+     * @return footprint of list
+     */
+    public MemoryStats footprint() {
+        final int slotCount = slots.length();
+        final int size = size();
+
+        return new MemoryStats(MemoryStats.instanceBytes(getClass())
+                + MemoryStats.instanceBytes(AtomicReferenceArray.class)
+                + MemoryStats.instanceBytes(AtomicLong.class)
+                + MemoryStats.arrayBytes(slotCount, MemoryStats.REFERENCE_BYTES),
+                0, size, capacity, (long) (slotCount - size) * MemoryStats.REFERENCE_BYTES);
+    }
+
+    /**
+     * Returns string representation of snapshot of list.
+     *
+     * @return string representation of list
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    @Override
+    public E set(int index, E element) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void add(int index, E element) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public E remove(int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Stores element into the next slot and publishes it by advancing sequence.
+     * Slot is written after sequence of the element it overwrites has become invalid for readers,
+     * release ordering makes element visible to readers observing advanced sequence.
+     * Must be called by single writer at a time.
+     */
+    private void append(E element) {
+        final long next = sequence.getPlain();
+        slots.setRelease(writeSlot, element);
+        if (++writeSlot == slots.length()) {
+            writeSlot = 0;
+        }
+        sequence.setRelease(next + 1);
+    }
+
+    /**
+     * Returns slot of element with specified sequence number.
+     */
+    private int slot(long position) {
+        return (int) (position % slots.length());
+    }
+
+}
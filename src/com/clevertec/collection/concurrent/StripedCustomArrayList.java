@@ -0,0 +1,586 @@
+package com.clevertec.collection.concurrent;
+
+import com.clevertec.collection.CustomArrayList;
+import com.clevertec.collection.MemoryStats;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread-safe sharded variant of custom resizable-array implementation of {@link List} interface.
+ * Elements are spread across several internal {@link CustomArrayList} stripes, each one guarded
+ * by its own {@link ReentrantLock}, so concurrent appending threads mostly do not contend for the same lock.
+ * Stripe of calling thread is chosen by its probe, initially hash of thread id, in the manner of {@link LongAdder}:
+ * if lock of stripe is held by another thread, probe is advanced and another stripe is tried,
+ * so threads whose hashes collide move apart. Locks do not pin virtual threads to carrier threads
+ * as monitors do on JDK versions before 24.
+ * <p>
+ * List does not preserve insertion order between different threads: positional access
+ * and iteration observe stripes one after another (merged view).
+ * Suitable for order-insensitive collections such as metrics samples.
+ * Permits {@code null}.
+ *
+ * @param <E> type of contained list elements
+ * @see LongAdder
+ */
+public class StripedCustomArrayList<E> implements List<E>, Serializable {
+
+    /**
+     * Maximum number of stripes.
+     */
+    private static final int MAX_STRIPES = 1 << 16;
+
+    /**
+     * Number of stripes tried by {@link ReentrantLock#tryLock()} before thread waits for lock of the last one.
+     */
+    private static final int PROBE_ATTEMPTS = 4;
+
+    /**
+     * Probe of thread selecting its stripe, shared by all striped lists like probe of {@link LongAdder}.
+     */
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(() -> new int[]{
+            hash(Thread.currentThread())});
+
+    /**
+     * Stripes of elements, length is power of two.
+     */
+    private final Stripe<E>[] stripes;
+
+    /**
+     * Stripe of elements guarded by its lock.
+     */
+    private static final class Stripe<E> extends ReentrantLock {
+
+        final CustomArrayList<E> elements = new CustomArrayList<>();
+    }
+
+    /**
+     * Constructs empty list with number of stripes equal to number of available processors
+     * rounded up to power of two.
+     */
+    public StripedCustomArrayList() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs empty list with specified number of stripes rounded up to power of two.
+     *
+     * @param stripesNumber desired number of stripes
+     * @throws IllegalArgumentException if number of stripes is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public StripedCustomArrayList(int stripesNumber) {
+        if (stripesNumber <= 0 || stripesNumber > MAX_STRIPES) {
+            throw new IllegalArgumentException("Illegal number of stripes = " + stripesNumber);
+        }
+
+        int length = 1;
+        while (length < stripesNumber) {
+            length <<= 1;
+        }
+
+        stripes = (Stripe<E>[]) new Stripe<?>[length];
+        for (int i = 0; i < length; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    /**
+     * Appends element to stripe of calling thread.
+     *
+     * @param element element to be appended to list
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(E element) {
+        Stripe<E> stripe = lockStripeOfCurrentThread();
+        try {
+            stripe.elements.add(element);
+        } finally {
+            stripe.unlock();
+        }
+
+        return true;
+    }
+
+    /**
+     * Appends all elements of specified collection to stripe of calling thread
+     * under single acquisition of its lock with single capacity check.
+     * Elements are copied once by {@code toArray} of collection and once into array buffer of stripe.
+     *
+     * @param c collection containing elements to be added to list
+     * @return {@code true} if list changed as a result of the call
+     * @throws NullPointerException if specified collection is null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] batch = c.toArray();
+        if (batch.length == 0) {
+            return false;
+        }
+
+        Stripe<E> stripe = lockStripeOfCurrentThread();
+        try {
+            stripe.elements.addBatch((E[]) batch, 0, batch.length);
+        } finally {
+            stripe.unlock();
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns element at specified position of merged view of stripes.
+     *
+     * @param index index of element to return
+     * @return element at specified position in list
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    @Override
+    public E get(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Element index = " + index + ", list size = " + size());
+        }
+
+        int remaining = index;
+        for (Stripe<E> stripe : stripes) {
+            stripe.lock();
+            try {
+                int stripeSize = stripe.elements.size();
+                if (remaining < stripeSize) {
+                    return stripe.elements.get(remaining);
+                }
+                remaining -= stripeSize;
+            } finally {
+                stripe.unlock();
+            }
+        }
+
+        throw new IndexOutOfBoundsException("Element index = " + index + ", list size = " + size());
+    }
+
+    /**
+     * Removes element at specified position of merged view of stripes.
+     *
+     * @param index index of element to remove
+     * @return removed element
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    @Override
+    public E remove(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Element index = " + index + ", list size = " + size());
+        }
+
+        int remaining = index;
+        for (Stripe<E> stripe : stripes) {
+            stripe.lock();
+            try {
+                int stripeSize = stripe.elements.size();
+                if (remaining < stripeSize) {
+                    return stripe.elements.remove(remaining);
+                }
+                remaining -= stripeSize;
+            } finally {
+                stripe.unlock();
+            }
+        }
+
+        throw new IndexOutOfBoundsException("Element index = " + index + ", list size = " + size());
+    }
+
+    /**
+     * Removes one occurrence of specified element if it is present.
+     * Stripe of calling thread is looked up first since element was probably added by the same thread.
+     *
+     * @param element element to be removed from list
+     * @return {@code true} if list contained specified element
+     */
+    @Override
+    public boolean remove(Object element) {
+        Stripe<E> own = stripes[PROBE.get()[0] & (stripes.length - 1)];
+        if (removeFrom(own, element)) {
+            return true;
+        }
+
+        for (Stripe<E> stripe : stripes) {
+            if (stripe != own && removeFrom(stripe, element)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns number of elements in list as sum of stripe sizes.
+     * Result is not an atomic snapshot if list is concurrently modified.
+     *
+     * @return number of elements in list
+     */
+    @Override
+    public int size() {
+        int sum = 0;
+        for (Stripe<E> stripe : stripes) {
+            stripe.lock();
+            try {
+                sum += stripe.elements.size();
+            } finally {
+                stripe.unlock();
+            }
+        }
+
+        return sum;
+    }
+
+    /**
+     * Returns {@code true} if list contains no elements.
+     *
+     * @return {@code true} if list contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        for (Stripe<E> stripe : stripes) {
+            stripe.lock();
+            try {
+                if (!stripe.elements.isEmpty()) {
+                    return false;
+                }
+            } finally {
+                stripe.unlock();
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns number of stripes.
+     *
+     * @return number of stripes
+     */
+    public int stripesNumber() {
+        return stripes.length;
+    }
+
+    /**
+     * Returns estimated memory footprint of list as sum of footprints of stripes,
+     * every stripe is measured under its own lock.
+     *
+     * @return footprint of list
+     */
+    public MemoryStats footprint() {
+        long structureBytes = MemoryStats.instanceBytes(getClass())
+                + MemoryStats.arrayBytes(stripes.length, MemoryStats.REFERENCE_BYTES);
+        long indexBytes = 0;
+        long wastedBytes = 0;
+        int size = 0;
+        int capacity = 0;
+
+        for (Stripe<E> stripe : stripes) {
+            MemoryStats stripeStats;
+            stripe.lock();
+            try {
+                stripeStats = stripe.elements.footprint();
+            } finally {
+                stripe.unlock();
+            }
+            structureBytes += stripeStats.shallowBytes() - stripeStats.indexBytes();
+            indexBytes += stripeStats.indexBytes();
+            wastedBytes += stripeStats.wastedBytes();
+            size += stripeStats.size();
+            capacity += stripeStats.capacity();
+        }
+
+        return new MemoryStats(structureBytes, indexBytes, size, capacity, wastedBytes);
+    }
+
+    /**
+     * Returns new array containing all elements merged stripe by stripe.
+     * Every stripe is copied under its own lock.
+     *
+     * @return array containing all elements of list
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] merged = new Object[0];
+        int mergedSize = 0;
+
+        for (Stripe<E> stripe : stripes) {
+            stripe.lock();
+            try {
+                int stripeSize = stripe.elements.size();
+                if (mergedSize + stripeSize > merged.length) {
+                    merged = Arrays.copyOf(merged, Math.max(merged.length * 2, mergedSize + stripeSize));
+                }
+                for (int i = 0; i < stripeSize; i++) {
+                    merged[mergedSize++] = stripe.elements.get(i);
+                }
+            } finally {
+                stripe.unlock();
+            }
+        }
+
+        return mergedSize == merged.length ? merged : Arrays.copyOf(merged, mergedSize);
+    }
+
+    /**
+     * Returns iterator over merged snapshot of stripes.
+     * Iterator does not reflect modifications made after its creation.
+     *
+     * @return iterator over elements in list
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new SnapshotItr(toArray());
+    }
+
+    /**
+     * Iterator over snapshot of list elements.
+     */
+    private class SnapshotItr implements Iterator<E> {
+        /**
+         * Snapshot of elements.
+         */
+        private final Object[] snapshot;
+
+        /**
+         * Index of element to be returned by subsequent call to next.
+         */
+        private int cursor = 0;
+
+        /**
+         * Index of element returned by most recent call to next.
+         * Reset to -1 if this element is deleted by call to remove.
+         */
+        private int lastReturned = -1;
+
+        /**
+         * Constructs iterator over specified snapshot.
+         */
+        SnapshotItr(Object[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * Returns {@code true} if iteration has more elements.
+         *
+         * @return {@code true} if iteration has more elements
+         */
+        public boolean hasNext() {
+            return cursor < snapshot.length;
+        }
+
+        /**
+         * Returns the next element in iteration.
+         *
+         * @return the next element in iteration
+         * @throws NoSuchElementException if iteration has no more elements
+         */
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (cursor >= snapshot.length) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor;
+            return (E) snapshot[cursor++];
+        }
+
+        /**
+         * Removes from list one occurrence of the last element returned by iterator.
+         *
+         * @throws IllegalStateException          if {@code next} method has not
+         *                                        yet been called or {@code remove} method has already
+         *                                        been called after the last call to {@code next} method
+         * @throws ConcurrentModificationException if element has already been removed from list
+         */
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+
+            if (!StripedCustomArrayList.this.remove(snapshot[lastReturned])) {
+                throw new ConcurrentModificationException();
+            }
+
+            lastReturned = -1;
+        }
+    }
+
+    /**
+     * Returns string representation of merged view of list.
+     *
+     * @return string representation of list
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append('[');
+
+        Object[] elements = toArray();
+        for (int i = 0; i < elements.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(elements[i]);
+        }
+
+        builder.append(']');
+
+        return builder.toString();
+    }
+
+    /**
+     * Removes one occurrence of element from stripe under its lock.
+     */
+    private static boolean removeFrom(Stripe<?> stripe, Object element) {
+        stripe.lock();
+        try {
+            return stripe.elements.remove(element);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Locks and returns stripe selected by probe of calling thread. If lock of stripe is held by another
+     * thread, probe is advanced and stored, and the next stripe is tried, up to {@link #PROBE_ATTEMPTS}
+     * stripes, after which thread waits for lock of the last one.
+     */
+    private Stripe<E> lockStripeOfCurrentThread() {
+        final int[] probe = PROBE.get();
+        final int mask = stripes.length - 1;
+
+        for (int attempt = 1; attempt < PROBE_ATTEMPTS && mask != 0; attempt++) {
+            Stripe<E> stripe = stripes[probe[0] & mask];
+            if (stripe.tryLock()) {
+                return stripe;
+            }
+            probe[0] = advanceProbe(probe[0]);
+        }
+
+        Stripe<E> stripe = stripes[probe[0] & mask];
+        stripe.lock();
+
+        return stripe;
+    }
+
+    /**
+     * Returns next pseudo-random probe (xorshift), the same step as probe of {@link LongAdder} takes on contention.
+     */
+    private static int advanceProbe(int probe) {
+        probe ^= probe << 13;
+        probe ^= probe >>> 17;
+        probe ^= probe << 5;
+
+        return probe;
+    }
+
+    /**
+     * Returns well-spread non-zero hash of thread id (murmur3 finalizer), initial probe of thread.
+     */
+    private static int hash(Thread thread) {
+        long h = thread.getId();
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+
+        return (int) h == 0 ? 1 : (int) h;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public E set(int index, E element) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void add(int index, E element) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void sort(Comparator<? super E> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        throw new UnsupportedOperationException();
+    }
+
+}
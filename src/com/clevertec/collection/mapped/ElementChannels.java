@@ -0,0 +1,271 @@
+package com.clevertec.collection.mapped;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Chunked export and import of list elements encoded by fixed-width {@link ElementCodec}.
+ * Format is plain sequence of encoded elements, the same as element slots of {@link MappedCustomArrayList}.
+ * Elements are encoded into and decoded from single reusable buffer of {@code chunkElements} slots,
+ * so memory used for transfer is bounded by chunk size regardless of number of elements.
+ * Import produces lazy {@link Stream}, which can be collected into custom list
+ * by {@link com.clevertec.collection.CustomArrayList#fromStream(Stream, long)}.
+ */
+public final class ElementChannels {
+
+    /**
+     * Default number of elements in chunk.
+     */
+    public static final int DEFAULT_CHUNK_ELEMENTS = 1 << 13;
+
+    private ElementChannels() {
+    }
+
+    /**
+     * Writes elements to channel in chunks of default size.
+     *
+     * @param elements elements to write
+     * @param codec    codec of elements
+     * @param out      channel to write elements to, not closed by this method
+     * @param <E>      type of elements
+     * @return number of elements written
+     * @throws IOException if elements can not be written
+     */
+    public static <E> long export(Iterable<? extends E> elements, ElementCodec<E> codec,
+                                  WritableByteChannel out) throws IOException {
+        return export(elements, codec, out, DEFAULT_CHUNK_ELEMENTS);
+    }
+
+    /**
+     * Writes elements to output stream in chunks of default size.
+     *
+     * @param elements elements to write
+     * @param codec    codec of elements
+     * @param out      stream to write elements to, not closed by this method
+     * @param <E>      type of elements
+     * @return number of elements written
+     * @throws IOException if elements can not be written
+     */
+    public static <E> long export(Iterable<? extends E> elements, ElementCodec<E> codec,
+                                  OutputStream out) throws IOException {
+        return export(elements, codec, Channels.newChannel(out), DEFAULT_CHUNK_ELEMENTS);
+    }
+
+    /**
+     * Writes elements to channel in chunks. Elements are visited by {@link Iterable#forEach(Consumer)},
+     * which custom lists implement without iterator and under single lock acquisition for concurrent lists.
+     *
+     * @param elements      elements to write
+     * @param codec         codec of elements
+     * @param out           channel to write elements to, not closed by this method
+     * @param chunkElements number of elements encoded before chunk is written
+     * @param <E>           type of elements
+     * @return number of elements written
+     * @throws IOException              if elements can not be written
+     * @throws IllegalArgumentException if chunk size is not positive
+     */
+    public static <E> long export(Iterable<? extends E> elements, ElementCodec<E> codec,
+                                  WritableByteChannel out, int chunkElements) throws IOException {
+        Objects.requireNonNull(out);
+        final ByteBuffer chunk = allocateChunk(codec, chunkElements);
+        final int width = codec.width();
+        final long[] count = {0};
+
+        try {
+            elements.forEach(element -> {
+                if (!chunk.hasRemaining()) {
+                    writeChunk(chunk, out);
+                }
+                codec.write(chunk, chunk.position(), element);
+                chunk.position(chunk.position() + width);
+                count[0]++;
+            });
+            writeChunk(chunk, out);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return count[0];
+    }
+
+    /**
+     * Returns lazy stream of elements read from channel in chunks of default size.
+     *
+     * @param in    channel to read elements from, closed when stream is closed
+     * @param codec codec of elements
+     * @param <E>   type of elements
+     * @return sequential stream of elements
+     */
+    public static <E> Stream<E> stream(ReadableByteChannel in, ElementCodec<E> codec) {
+        return stream(in, codec, DEFAULT_CHUNK_ELEMENTS);
+    }
+
+    /**
+     * Returns lazy stream of elements read from input stream in chunks of default size.
+     *
+     * @param in    stream to read elements from, closed when returned stream is closed
+     * @param codec codec of elements
+     * @param <E>   type of elements
+     * @return sequential stream of elements
+     */
+    public static <E> Stream<E> stream(InputStream in, ElementCodec<E> codec) {
+        return stream(Channels.newChannel(in), codec, DEFAULT_CHUNK_ELEMENTS);
+    }
+
+    /**
+     * Returns lazy stream of elements read from channel in chunks. Next chunk is read only when
+     * elements of previous one are consumed. Stream of {@link SeekableByteChannel}, such as file channel,
+     * knows its exact size, so collecting it preallocates storage once.
+     * I/O failures are thrown as {@link UncheckedIOException}.
+     *
+     * @param in            channel to read elements from, closed when stream is closed
+     * @param codec         codec of elements
+     * @param chunkElements number of elements read at once
+     * @param <E>           type of elements
+     * @return sequential stream of elements
+     * @throws IllegalArgumentException if chunk size is not positive
+     * @throws UncheckedIOException     if size of seekable channel can not be determined
+     */
+    public static <E> Stream<E> stream(ReadableByteChannel in, ElementCodec<E> codec, int chunkElements) {
+        Objects.requireNonNull(in);
+        final ByteBuffer chunk = allocateChunk(codec, chunkElements);
+
+        long size = -1;
+        if (in instanceof SeekableByteChannel) {
+            try {
+                SeekableByteChannel seekable = (SeekableByteChannel) in;
+                size = Math.max(0, seekable.size() - seekable.position()) / codec.width();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return StreamSupport.stream(new ChunkSpliterator<>(in, codec, chunk, size), false)
+                .onClose(() -> {
+                    try {
+                        in.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Allocates buffer of specified number of element slots.
+     */
+    private static ByteBuffer allocateChunk(ElementCodec<?> codec, int chunkElements) {
+        if (chunkElements <= 0) {
+            throw new IllegalArgumentException("Illegal chunk size: " + chunkElements);
+        }
+
+        return ByteBuffer.allocate(Math.multiplyExact(chunkElements, codec.width()));
+    }
+
+    /**
+     * Writes content of chunk to channel and clears chunk.
+     */
+    private static void writeChunk(ByteBuffer chunk, WritableByteChannel out) {
+        chunk.flip();
+        try {
+            while (chunk.hasRemaining()) {
+                out.write(chunk);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        chunk.clear();
+    }
+
+    /**
+     * Spliterator decoding elements of chunk read from channel, refilling chunk when it is consumed.
+     */
+    private static final class ChunkSpliterator<E> extends Spliterators.AbstractSpliterator<E> {
+
+        private final ReadableByteChannel in;
+
+        private final ElementCodec<E> codec;
+
+        private final ByteBuffer chunk;
+
+        /**
+         * Whether channel reached end of stream.
+         */
+        private boolean exhausted;
+
+        ChunkSpliterator(ReadableByteChannel in, ElementCodec<E> codec, ByteBuffer chunk, long size) {
+            super(size < 0 ? Long.MAX_VALUE : size,
+                    size < 0 ? Spliterator.ORDERED : Spliterator.ORDERED | Spliterator.SIZED);
+            this.in = in;
+            this.codec = codec;
+            this.chunk = chunk;
+            chunk.limit(0);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (!chunk.hasRemaining() && !fill()) {
+                return false;
+            }
+
+            final int offset = chunk.position();
+            action.accept(codec.read(chunk, offset));
+            chunk.position(offset + codec.width());
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            final int width = codec.width();
+            while (chunk.hasRemaining() || fill()) {
+                for (int offset = chunk.position(), end = chunk.limit(); offset < end; offset += width) {
+                    chunk.position(offset + width);
+                    action.accept(codec.read(chunk, offset));
+                }
+            }
+        }
+
+        /**
+         * Reads next chunk of whole elements, returns {@code false} at end of channel.
+         */
+        private boolean fill() {
+            if (exhausted) {
+                return false;
+            }
+
+            chunk.clear();
+            try {
+                while (chunk.hasRemaining()) {
+                    if (in.read(chunk) < 0) {
+                        exhausted = true;
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            chunk.flip();
+
+            if (chunk.remaining() % codec.width() != 0) {
+                throw new UncheckedIOException(new IOException("Channel ends with truncated element of "
+                        + chunk.remaining() % codec.width() + " bytes"));
+            }
+
+            return chunk.hasRemaining();
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.clevertec.collection.mapped;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-width binary encoding of list elements used by {@link MappedCustomArrayList}.
+ * Every element occupies exactly {@link #width()} bytes, so position of element in file
+ * is computed from its index without any lookup.
+ * Codecs read and write at absolute offsets and must not change position or limit of buffer.
+ *
+ * @param <E> type of encoded elements
+ */
+public interface ElementCodec<E> {
+
+    /**
+     * Returns number of bytes occupied by every encoded element.
+     *
+     * @return positive width of encoded element in bytes
+     */
+    int width();
+
+    /**
+     * Writes encoded element into buffer starting at specified absolute offset.
+     *
+     * @param buffer  buffer to write element into
+     * @param offset  absolute offset of the first byte of element
+     * @param element element to be written
+     * @throws NullPointerException     if element is null and codec does not support {@code null}
+     * @throws IllegalArgumentException if element can not be encoded in {@link #width()} bytes
+     */
+    void write(ByteBuffer buffer, int offset, E element);
+
+    /**
+     * Reads element encoded in buffer starting at specified absolute offset.
+     *
+     * @param buffer buffer to read element from
+     * @param offset absolute offset of the first byte of element
+     * @return decoded element
+     */
+    E read(ByteBuffer buffer, int offset);
+
+    /**
+     * Returns codec of {@link Integer} values occupying 4 bytes. Does not permit {@code null}.
+     *
+     * @return codec of integers
+     */
+    static ElementCodec<Integer> ints() {
+        return new ElementCodec<>() {
+            @Override
+            public int width() {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, Integer element) {
+                buffer.putInt(offset, element);
+            }
+
+            @Override
+            public Integer read(ByteBuffer buffer, int offset) {
+                return buffer.getInt(offset);
+            }
+        };
+    }
+
+    /**
+     * Returns codec of {@link Long} values occupying 8 bytes. Does not permit {@code null}.
+     *
+     * @return codec of longs
+     */
+    static ElementCodec<Long> longs() {
+        return new ElementCodec<>() {
+            @Override
+            public int width() {
+                return Long.BYTES;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, Long element) {
+                buffer.putLong(offset, element);
+            }
+
+            @Override
+            public Long read(ByteBuffer buffer, int offset) {
+                return buffer.getLong(offset);
+            }
+        };
+    }
+
+    /**
+     * Returns codec of {@link Double} values occupying 8 bytes. Does not permit {@code null}.
+     *
+     * @return codec of doubles
+     */
+    static ElementCodec<Double> doubles() {
+        return new ElementCodec<>() {
+            @Override
+            public int width() {
+                return Double.BYTES;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, Double element) {
+                buffer.putDouble(offset, element);
+            }
+
+            @Override
+            public Double read(ByteBuffer buffer, int offset) {
+                return buffer.getDouble(offset);
+            }
+        };
+    }
+
+    /**
+     * Returns codec of strings encoded in UTF-8 occupying 2 bytes of length followed by
+     * {@code maxBytes} bytes of content padded with zeros. Does not permit {@code null}.
+     *
+     * @param maxBytes maximum length of encoded string in bytes
+     * @return codec of strings
+     * @throws IllegalArgumentException if maxBytes is not positive or greater than 65535
+     */
+    static ElementCodec<String> utf8(int maxBytes) {
+        if (maxBytes <= 0 || maxBytes > 0xFFFF) {
+            throw new IllegalArgumentException("Illegal maximum length of string: " + maxBytes);
+        }
+
+        return new ElementCodec<>() {
+            @Override
+            public int width() {
+                return Short.BYTES + maxBytes;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, String element) {
+                byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > maxBytes) {
+                    throw new IllegalArgumentException("Encoded string length " + bytes.length
+                            + " exceeds maximum length " + maxBytes);
+                }
+
+                buffer.putShort(offset, (short) bytes.length);
+                for (int i = 0; i < maxBytes; i++) {
+                    buffer.put(offset + Short.BYTES + i, i < bytes.length ? bytes[i] : 0);
+                }
+            }
+
+            @Override
+            public String read(ByteBuffer buffer, int offset) {
+                byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort(offset))];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = buffer.get(offset + Short.BYTES + i);
+                }
+
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+}
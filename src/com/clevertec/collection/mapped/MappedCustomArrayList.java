@@ -0,0 +1,733 @@
+package com.clevertec.collection.mapped;
+
+import com.clevertec.collection.CustomAbstractList;
+import com.clevertec.collection.CustomArrayList;
+import com.clevertec.collection.metrics.ListMetrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * File-backed resizable-array implementation of {@link List} interface with API of {@link CustomArrayList}.
+ * Elements are encoded by {@link ElementCodec} into fixed-width slots of file mapped into memory
+ * by {@link FileChannel#map}, so list is not limited by heap size: working set is served from page cache
+ * and the rest of elements stays on disk. Every access to element decodes it from mapped memory.
+ * <p>
+ * File consists of header holding element width and size of list followed by element slots.
+ * Slots are mapped in segments of at most {@value #SEGMENT_BYTES} bytes, since single mapping can not exceed 2 GB.
+ * List grows by remapping last segment to region of double size and adding new segments, elements are never copied.
+ * Size in header is updated on every modification, so reopening file with {@link #open(Path, ElementCodec)}
+ * restores list instantly. Modifications reach disk when operating system flushes pages or on {@link #force()}.
+ * <p>
+ * Does not permit {@code null} unless codec supports it. Not thread-safe.
+ *
+ * @param <E> type of contained list elements
+ * @see CustomArrayList
+ */
+public class MappedCustomArrayList<E> extends CustomAbstractList<E> implements List<E>, RandomAccess, Closeable {
+
+    /**
+     * Default initial capacity of new file.
+     */
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    /**
+     * Multiplayer to increase capacity of list.
+     */
+    private static final int INCREASING_ARRAY_SIZE_MULTIPLAYER = 2;
+
+    /**
+     * Maximum capacity of list.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Maximum number of bytes of single mapped segment of element slots.
+     */
+    private static final int SEGMENT_BYTES = 1 << 30;
+
+    /**
+     * Number of bytes of file header preceding element slots.
+     */
+    private static final int HEADER_BYTES = 32;
+
+    /**
+     * Value of the first header field identifying file of mapped list.
+     */
+    private static final int MAGIC = 0x434C4D4C;
+
+    /**
+     * Version of file layout.
+     */
+    private static final int VERSION = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+
+    private static final int VERSION_OFFSET = 4;
+
+    private static final int WIDTH_OFFSET = 8;
+
+    private static final int SIZE_OFFSET = 16;
+
+    /**
+     * Codec encoding elements into slots.
+     */
+    private final ElementCodec<E> codec;
+
+    /**
+     * Width of element slot in bytes.
+     */
+    private final int width;
+
+    /**
+     * Number of element slots in full segment.
+     */
+    private final int segmentCapacity;
+
+    /**
+     * Channel of file, kept open to remap segments as list grows.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Mapped file header.
+     */
+    private final MappedByteBuffer header;
+
+    /**
+     * Mapped segments of element slots. All segments except the last one are full.
+     */
+    private MappedByteBuffer[] segments;
+
+    /**
+     * Buffer of single slot width into which element is encoded before it is copied
+     * into slot in the middle of list.
+     */
+    private final ByteBuffer scratch;
+
+    /**
+     * Number of element slots mapped.
+     */
+    private int capacity;
+
+    /**
+     * Whether list has been closed.
+     */
+    private boolean closed;
+
+    private MappedCustomArrayList(FileChannel channel, ElementCodec<E> codec) throws IOException {
+        super();
+        this.channel = channel;
+        this.codec = codec;
+        this.width = codec.width();
+        if (width <= 0 || width > SEGMENT_BYTES) {
+            throw new IllegalArgumentException("Illegal element width: " + width);
+        }
+        this.segmentCapacity = SEGMENT_BYTES / width;
+        this.scratch = ByteBuffer.allocate(width);
+        this.segments = new MappedByteBuffer[0];
+
+        final boolean created = channel.size() == 0;
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        if (created) {
+            header.putInt(MAGIC_OFFSET, MAGIC);
+            header.putInt(VERSION_OFFSET, VERSION);
+            header.putInt(WIDTH_OFFSET, width);
+            header.putLong(SIZE_OFFSET, 0);
+            map(INITIAL_CAPACITY);
+            return;
+        }
+
+        if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("File is not a mapped list file of version " + VERSION);
+        }
+        if (header.getInt(WIDTH_OFFSET) != width) {
+            throw new IllegalArgumentException("Element width of file " + header.getInt(WIDTH_OFFSET)
+                    + " does not match width of codec " + width);
+        }
+
+        final long storedSize = header.getLong(SIZE_OFFSET);
+        final long slots = (channel.size() - HEADER_BYTES) / width;
+        if (storedSize < 0 || storedSize > slots || storedSize > MAX_CAPACITY) {
+            throw new IOException("File is corrupted: size = " + storedSize + ", slots = " + slots);
+        }
+        size = (int) storedSize;
+        map((int) Math.max(INITIAL_CAPACITY, Math.min(slots, MAX_CAPACITY)));
+    }
+
+    /**
+     * Opens list stored in specified file, creating empty list if file does not exist or is empty.
+     * Existing file is mapped without reading its elements, so opening takes constant time.
+     *
+     * @param path  path of file
+     * @param codec codec of elements, must have the same width as codec the file was created with
+     * @param <E>   type of list elements
+     * @return list stored in file
+     * @throws IOException              if file can not be opened or mapped, or is not a mapped list file
+     * @throws IllegalArgumentException if width of codec does not match width of elements in file
+     */
+    public static <E> MappedCustomArrayList<E> open(Path path, ElementCodec<E> codec) throws IOException {
+        Objects.requireNonNull(codec);
+
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new MappedCustomArrayList<>(channel, codec);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Add element to list.
+     * Increases current capacity of list, make it double if size equals capacity.
+     *
+     * @param element element to be appended to list
+     * @return {@code true}
+     * @throws IllegalStateException if list is closed
+     */
+    @Override
+    public boolean add(E element) {
+        ensureOpen();
+
+        if (size == capacity) {
+            grow(size + 1);
+        }
+        write(size, element);
+        size++;
+        modCount++;
+        storeSize();
+
+        return true;
+    }
+
+    /**
+     * Inserts element at specified position in list, shifting subsequent elements to the right.
+     *
+     * @param index   index at which element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException if index is negative or greater than size of list
+     *                                   ({@code index < 0 || index > size()})
+     * @throws IllegalStateException     if list is closed
+     */
+    @Override
+    public void add(int index, E element) {
+        ensureOpen();
+        checkPositionIndex(index);
+
+        if (size == capacity) {
+            grow(size + 1);
+        }
+        final ByteBuffer encoded = encode(element);
+        move(index, index + 1, size - index);
+        writeEncoded(encoded, index);
+        size++;
+        modCount++;
+        storeSize();
+    }
+
+    /**
+     * Returns element at specified position in list, decoded from mapped file.
+     *
+     * @param index index of element to return
+     * @return element at specified position in list
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    @Override
+    public E get(int index) {
+        checkElementIndex(index);
+
+        return read(index);
+    }
+
+    /**
+     * Replaces element at specified position in list with specified element.
+     *
+     * @param index   index of element to replace
+     * @param element element to be stored at specified position
+     * @return element previously at specified position
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     * @throws IllegalStateException     if list is closed
+     */
+    @Override
+    public E set(int index, E element) {
+        ensureOpen();
+        checkElementIndex(index);
+
+        E oldElement = read(index);
+        writeEncoded(encode(element), index);
+
+        return oldElement;
+    }
+
+    /**
+     * Removes element from list and returns removed element on specific index.
+     *
+     * @param index index of element to remove
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     * @throws IllegalStateException     if list is closed
+     */
+    @Override
+    public E remove(int index) {
+        ensureOpen();
+        checkElementIndex(index);
+
+        E removedElement = read(index);
+        move(index + 1, index, size - index - 1);
+        size--;
+        modCount++;
+        storeSize();
+
+        return removedElement;
+    }
+
+    /**
+     * Removes the first occurrence of the specified element with the lowest index from list if it is present.
+     *
+     * @param element element to be removed from list
+     * @return {@code true} if list contained specified element
+     * @throws IllegalStateException if list is closed
+     */
+    @Override
+    public boolean remove(Object element) {
+        int elementIndex = indexOf(element);
+        if (elementIndex < 0) {
+            return false;
+        }
+
+        remove(elementIndex);
+
+        return true;
+    }
+
+    /**
+     * Appends all elements of specified collection, mapping capacity for them at most once.
+     * Elements are written into free slots after the last element and size is increased only after
+     * all of them are encoded, so failure of codec leaves list and its header unchanged.
+     *
+     * @param c collection containing elements to be added to list
+     * @return {@code true} if list changed as a result of the call
+     * @throws NullPointerException  if specified collection is null
+     * @throws IllegalStateException if list is closed
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        ensureOpen();
+
+        Object[] source = c.toArray();
+        if (source.length == 0) {
+            return false;
+        }
+        if (size + source.length > capacity) {
+            grow(size + source.length);
+        }
+
+        for (int i = 0; i < source.length; i++) {
+            @SuppressWarnings("unchecked")
+            E e = (E) source[i];
+            write(size + i, e);
+        }
+        size += source.length;
+        modCount++;
+        storeSize();
+
+        return true;
+    }
+
+    /**
+     * Removes all elements from list. File keeps its length, so slots are reused by subsequent additions.
+     *
+     * @throws IllegalStateException if list is closed
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+
+        size = 0;
+        modCount++;
+        storeSize();
+    }
+
+    /**
+     * Returns {@code true} if list contains specified element.
+     *
+     * @param o element whose presence in list is to be tested
+     * @return {@code true} if list contains specified element
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Returns index of the first occurrence of specified element in list or -1 if list does not contain it.
+     * Elements are decoded one by one from mapped file.
+     *
+     * @param o element to search for
+     * @return index of the first occurrence of element or -1 if list does not contain it
+     */
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(o, read(i))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns index of the last occurrence of specified element in list or -1 if list does not contain it.
+     *
+     * @param o element to search for
+     * @return index of the last occurrence of element or -1 if list does not contain it
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (Objects.equals(o, read(i))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Performs specified action for each element of list in order of index.
+     *
+     * @param action action to be performed for each element
+     * @throws NullPointerException            if specified action is null
+     * @throws ConcurrentModificationException if list is structurally modified by action
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        final int expectedModCount = modCount;
+        for (int i = 0, end = size; i < end && modCount == expectedModCount; i++) {
+            action.accept(read(i));
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Performs specified action for each element of list together with its index, in order of index.
+     *
+     * @param action action to be performed for each element and its index
+     * @throws NullPointerException            if specified action is null
+     * @throws ConcurrentModificationException if list is structurally modified by action
+     */
+    @Override
+    public void forEachIndexed(ObjIntConsumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        final int expectedModCount = modCount;
+        for (int i = 0, end = size; i < end && modCount == expectedModCount; i++) {
+            action.accept(read(i), i);
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Forces all modifications of list to be written to storage device.
+     * Element slots are flushed before header, so size stored on disk never covers unwritten elements.
+     *
+     * @throws IllegalStateException if list is closed
+     */
+    public void force() {
+        ensureOpen();
+
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        header.force();
+    }
+
+    /**
+     * Forces modifications to storage device and closes file. Closing already closed list has no effect.
+     * Mapped memory is released when list becomes unreachable.
+     *
+     * @throws IOException if file can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        force();
+        closed = true;
+        channel.close();
+    }
+
+    /**
+     * Returns number of element slots currently mapped.
+     *
+     * @return capacity of list
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns number of bytes of file mapped into memory, including header.
+     * Mapped bytes are not part of heap and are resident only while pages are cached.
+     *
+     * @return number of mapped bytes
+     */
+    public long mappedBytes() {
+        return HEADER_BYTES + (long) capacity * width;
+    }
+
+    /**
+     * Returns string representation of list.
+     *
+     * @return string representation of list
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append('[');
+
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(read(i));
+        }
+
+        builder.append(']');
+
+        return builder.toString();
+    }
+
+    /**
+     * Returns array containing all elements of list decoded in proper sequence.
+     *
+     * @return array containing all elements of list
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = read(i);
+        }
+
+        return array;
+    }
+
+    /**
+     * Returns array containing all elements of list decoded in proper sequence,
+     * runtime type of returned array is that of specified array.
+     *
+     * @param a array into which elements of list are to be stored if it is big enough
+     * @return array containing elements of list
+     * @throws ArrayStoreException  if runtime type of specified array is not a supertype of elements
+     * @throws NullPointerException if specified array is null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        if (a.length < size) {
+            a = (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        }
+
+        Object[] array = a;
+        for (int i = 0; i < size; i++) {
+            array[i] = read(i);
+        }
+        if (a.length > size) {
+            a[size] = null;
+        }
+
+        return a;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Decodes element in slot with specified index.
+     */
+    private E read(int index) {
+        return codec.read(segments[index / segmentCapacity], index % segmentCapacity * width);
+    }
+
+    /**
+     * Encodes element into slot with specified index.
+     */
+    private void write(int index, E element) {
+        codec.write(segments[index / segmentCapacity], index % segmentCapacity * width, element);
+    }
+
+    /**
+     * Encodes element into scratch buffer of slot width, so that failure of codec
+     * is detected before any slot of list is modified.
+     */
+    private ByteBuffer encode(E element) {
+        final ByteBuffer encoded = scratch;
+        codec.write(encoded, 0, element);
+
+        return encoded;
+    }
+
+    /**
+     * Copies encoded element from scratch buffer into slot with specified index.
+     */
+    private void writeEncoded(ByteBuffer encoded, int index) {
+        segments[index / segmentCapacity].put(index % segmentCapacity * width, encoded, 0, width);
+    }
+
+    /**
+     * Moves {@code count} slots starting from index {@code from} to index {@code to} byte by byte,
+     * in direction not overwriting slots yet to be moved. Slots may cross segment boundaries.
+     */
+    private void move(int from, int to, int count) {
+        if (count == 0) {
+            return;
+        }
+
+        final byte[] slot = new byte[width];
+        if (to > from) {
+            for (int i = count - 1; i >= 0; i--) {
+                copySlot(from + i, to + i, slot);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                copySlot(from + i, to + i, slot);
+            }
+        }
+
+        if (ListMetrics.ENABLED) {
+            ListMetrics.shift(this, count);
+        }
+    }
+
+    /**
+     * Copies bytes of one slot to another through specified buffer of slot width.
+     */
+    private void copySlot(int from, int to, byte[] slot) {
+        segments[from / segmentCapacity].get(from % segmentCapacity * width, slot);
+        segments[to / segmentCapacity].put(to % segmentCapacity * width, slot);
+    }
+
+    /**
+     * Writes current size into file header.
+     */
+    private void storeSize() {
+        header.putLong(SIZE_OFFSET, size);
+    }
+
+    /**
+     * Increases capacity of list by making it double, but at least to specified minimum capacity.
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required list capacity is too large: " + Integer.toUnsignedString(minCapacity));
+        }
+
+        final long start = ListMetrics.ENABLED ? ListMetrics.beginResize(this) : 0L;
+        final int oldCapacity = capacity;
+        final int newCapacity = (int) Math.min(MAX_CAPACITY,
+                Math.max((long) capacity * INCREASING_ARRAY_SIZE_MULTIPLAYER, minCapacity));
+        map(newCapacity);
+
+        if (ListMetrics.ENABLED) {
+            ListMetrics.resize(this, size, oldCapacity, newCapacity, 0L, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Maps slots up to specified capacity. Last mapped segment is remapped to larger region
+     * and new segments are mapped as needed, file is extended by mapping.
+     */
+    private void map(int newCapacity) {
+        final int segmentCount = (int) ((newCapacity + (long) segmentCapacity - 1) / segmentCapacity);
+        MappedByteBuffer[] newSegments = Arrays.copyOf(segments, segmentCount);
+
+        try {
+            for (int s = Math.max(0, segments.length - 1); s < segmentCount; s++) {
+                final int slots = Math.min(segmentCapacity, newCapacity - s * segmentCapacity);
+                if (newSegments[s] == null || newSegments[s].capacity() < slots * width) {
+                    newSegments[s] = channel.map(FileChannel.MapMode.READ_WRITE,
+                            HEADER_BYTES + (long) s * segmentCapacity * width, (long) slots * width);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        segments = newSegments;
+        capacity = newCapacity;
+    }
+
+    /**
+     * Checks that list has not been closed.
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("List is closed");
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.clevertec.collection.metrics;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Lock decorator measuring time threads wait for lock and hold it.
+ * Hold time is measured from the outermost acquisition to the matching release by the same thread,
+ * reentrant acquisitions are counted as waits of zero length.
+ * Waiting on {@link #newCondition() condition} releases lock, so it closes hold interval and
+ * the whole time spent in {@code await}, including reacquisition of lock, is reported as lock wait.
+ */
+class InstrumentedLock implements Lock {
+
+    /**
+     * Measured lock.
+     */
+    private final Lock delegate;
+
+    /**
+     * List guarded by lock, reported to listeners.
+     */
+    private final Object list;
+
+    /**
+     * Whether lock is write lock.
+     */
+    private final boolean write;
+
+    /**
+     * Per-thread hold depth and time of the outermost acquisition.
+     */
+    private final ThreadLocal<long[]> holds = ThreadLocal.withInitial(() -> new long[2]);
+
+    InstrumentedLock(Lock delegate, Object list, boolean write) {
+        this.delegate = delegate;
+        this.list = list;
+        this.write = write;
+    }
+
+    @Override
+    public void lock() {
+        ListMetrics.lockRequested(list, write);
+        final long start = System.nanoTime();
+        delegate.lock();
+        acquired(start);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        ListMetrics.lockRequested(list, write);
+        final long start = System.nanoTime();
+        delegate.lockInterruptibly();
+        acquired(start);
+    }
+
+    @Override
+    public boolean tryLock() {
+        final long start = System.nanoTime();
+        if (!delegate.tryLock()) {
+            return false;
+        }
+        acquired(start);
+
+        return true;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        ListMetrics.lockRequested(list, write);
+        final long start = System.nanoTime();
+        if (!delegate.tryLock(time, unit)) {
+            return false;
+        }
+        acquired(start);
+
+        return true;
+    }
+
+    @Override
+    public void unlock() {
+        delegate.unlock();
+
+        final long[] hold = holds.get();
+        if (--hold[0] == 0) {
+            ListMetrics.lockReleased(list, write, System.nanoTime() - hold[1]);
+        }
+    }
+
+    @Override
+    public Condition newCondition() {
+        return new InstrumentedCondition(delegate.newCondition());
+    }
+
+    /**
+     * Records full release of lock held by current thread before it waits on condition
+     * and returns depth of its holds.
+     */
+    private long released() {
+        final long[] hold = holds.get();
+        final long depth = hold[0];
+        if (depth > 0) {
+            hold[0] = 0;
+            ListMetrics.lockReleased(list, write, System.nanoTime() - hold[1]);
+        }
+        ListMetrics.lockRequested(list, write);
+
+        return depth;
+    }
+
+    /**
+     * Records reacquisition of lock with specified depth of holds after waiting on condition since specified time.
+     */
+    private void reacquired(long depth, long start) {
+        final long now = System.nanoTime();
+        ListMetrics.lockAcquired(list, write, now - start);
+
+        final long[] hold = holds.get();
+        hold[0] = depth;
+        hold[1] = now;
+    }
+
+    /**
+     * Records acquisition of lock waited since specified time.
+     */
+    private void acquired(long start) {
+        final long now = System.nanoTime();
+        ListMetrics.lockAcquired(list, write, now - start);
+
+        final long[] hold = holds.get();
+        if (hold[0]++ == 0) {
+            hold[1] = now;
+        }
+    }
+
+    /**
+     * Condition decorator reporting release of lock before waiting and its reacquisition after.
+     */
+    private class InstrumentedCondition implements Condition {
+
+        /**
+         * Condition of measured lock.
+         */
+        private final Condition delegate;
+
+        InstrumentedCondition(Condition delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            final long depth = released();
+            final long start = System.nanoTime();
+            try {
+                delegate.await();
+            } finally {
+                reacquired(depth, start);
+            }
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            final long depth = released();
+            final long start = System.nanoTime();
+            try {
+                delegate.awaitUninterruptibly();
+            } finally {
+                reacquired(depth, start);
+            }
+        }
+
+        @Override
+        public long awaitNanos(long nanosTimeout) throws InterruptedException {
+            final long depth = released();
+            final long start = System.nanoTime();
+            try {
+                return delegate.awaitNanos(nanosTimeout);
+            } finally {
+                reacquired(depth, start);
+            }
+        }
+
+        @Override
+        public boolean await(long time, TimeUnit unit) throws InterruptedException {
+            final long depth = released();
+            final long start = System.nanoTime();
+            try {
+                return delegate.await(time, unit);
+            } finally {
+                reacquired(depth, start);
+            }
+        }
+
+        @Override
+        public boolean awaitUntil(Date deadline) throws InterruptedException {
+            final long depth = released();
+            final long start = System.nanoTime();
+            try {
+                return delegate.awaitUntil(deadline);
+            } finally {
+                reacquired(depth, start);
+            }
+        }
+
+        @Override
+        public void signal() {
+            delegate.signal();
+        }
+
+        @Override
+        public void signalAll() {
+            delegate.signalAll();
+        }
+    }
+
+}
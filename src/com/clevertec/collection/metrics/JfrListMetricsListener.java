@@ -0,0 +1,186 @@
+package com.clevertec.collection.metrics;
+
+/**
+ * Listener emitting Java Flight Recorder events for resizes of custom lists, traversals
+ * and lock waits lasted longer than thresholds. Events are committed on thread performing
+ * list operation, so they appear on its timeline together with stack trace.
+ * Committing costs only a check of event settings unless recording with these events is running.
+ * <p>
+ * Events are begun when list announces start of operation, see {@link ListMetricsListener#beforeResize},
+ * {@link ListMetricsListener#beforeTraversal} and {@link ListMetricsListener#beforeLockWait},
+ * and ended and committed when operation is reported, so their duration covers the operation itself
+ * and JFR {@code threshold} setting applies to them. Event begun for lock wait which is never
+ * reported, e.g. because of timeout or interruption, is discarded by the next wait on the same thread.
+ * <p>
+ * Thresholds configured by system properties {@value #TRAVERSAL_THRESHOLD_PROPERTY}
+ * and {@value #LOCK_WAIT_THRESHOLD_PROPERTY} in microseconds are applied by listener in addition
+ * to JFR settings, so short traversals and uncontended acquisitions are dropped without querying them.
+ * Registered automatically when instrumentation is enabled, see {@link ListMetrics}.
+ *
+ * @see ListResizeEvent
+ * @see ListTraversalEvent
+ * @see ListLockContentionEvent
+ */
+public class JfrListMetricsListener implements ListMetricsListener {
+
+    /**
+     * Name of system property with minimum duration of traversal to be recorded in microseconds.
+     */
+    public static final String TRAVERSAL_THRESHOLD_PROPERTY = "com.clevertec.collection.metrics.jfr.traversalThresholdMicros";
+
+    /**
+     * Name of system property with minimum duration of lock wait to be recorded in microseconds.
+     */
+    public static final String LOCK_WAIT_THRESHOLD_PROPERTY = "com.clevertec.collection.metrics.jfr.lockWaitThresholdMicros";
+
+    /**
+     * Default minimum duration of traversal to be recorded in microseconds.
+     */
+    private static final long DEFAULT_TRAVERSAL_THRESHOLD_MICROS = 100;
+
+    /**
+     * Default minimum duration of lock wait to be recorded in microseconds.
+     */
+    private static final long DEFAULT_LOCK_WAIT_THRESHOLD_MICROS = 1_000;
+
+    /**
+     * Minimum duration of traversal to be recorded in nanoseconds.
+     */
+    private final long traversalThresholdNanos;
+
+    /**
+     * Minimum duration of lock wait to be recorded in nanoseconds.
+     */
+    private final long lockWaitThresholdNanos;
+
+    /**
+     * Resize event begun on current thread and not committed yet.
+     */
+    private final ThreadLocal<ListResizeEvent> pendingResize = new ThreadLocal<>();
+
+    /**
+     * Traversal event begun on current thread and not committed yet.
+     */
+    private final ThreadLocal<ListTraversalEvent> pendingTraversal = new ThreadLocal<>();
+
+    /**
+     * Lock contention event begun on current thread and not committed yet.
+     */
+    private final ThreadLocal<ListLockContentionEvent> pendingLockWait = new ThreadLocal<>();
+
+    /**
+     * Constructs listener with thresholds configured by system properties.
+     */
+    public JfrListMetricsListener() {
+        this(Long.getLong(TRAVERSAL_THRESHOLD_PROPERTY, DEFAULT_TRAVERSAL_THRESHOLD_MICROS) * 1_000,
+                Long.getLong(LOCK_WAIT_THRESHOLD_PROPERTY, DEFAULT_LOCK_WAIT_THRESHOLD_MICROS) * 1_000);
+    }
+
+    /**
+     * Constructs listener with specified thresholds.
+     *
+     * @param traversalThresholdNanos minimum duration of traversal to be recorded in nanoseconds
+     * @param lockWaitThresholdNanos  minimum duration of lock wait to be recorded in nanoseconds
+     * @throws IllegalArgumentException if any threshold is negative
+     */
+    public JfrListMetricsListener(long traversalThresholdNanos, long lockWaitThresholdNanos) {
+        if (traversalThresholdNanos < 0 || lockWaitThresholdNanos < 0) {
+            throw new IllegalArgumentException("Illegal thresholds: traversal = " + traversalThresholdNanos
+                    + " ns, lock wait = " + lockWaitThresholdNanos + " ns");
+        }
+
+        this.traversalThresholdNanos = traversalThresholdNanos;
+        this.lockWaitThresholdNanos = lockWaitThresholdNanos;
+    }
+
+    @Override
+    public void beforeResize(Object list) {
+        ListResizeEvent event = new ListResizeEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            pendingResize.set(event);
+        }
+    }
+
+    @Override
+    public void onResize(Object list, int size, int oldCapacity, int newCapacity, long copiedBytes, long nanos) {
+        ListResizeEvent event = pendingResize.get();
+        if (event == null) {
+            return;
+        }
+        pendingResize.remove();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.listClass = list.getClass().getName();
+            event.size = size;
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.copiedBytes = copiedBytes;
+            event.elapsed = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void beforeTraversal(Object list) {
+        ListTraversalEvent event = new ListTraversalEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            pendingTraversal.set(event);
+        }
+    }
+
+    @Override
+    public void onTraversal(Object list, int size, int hops, long nanos) {
+        ListTraversalEvent event = pendingTraversal.get();
+        if (event == null) {
+            return;
+        }
+        pendingTraversal.remove();
+
+        if (nanos < traversalThresholdNanos) {
+            return;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.listClass = list.getClass().getName();
+            event.size = size;
+            event.hops = hops;
+            event.elapsed = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void beforeLockWait(Object list, boolean write) {
+        ListLockContentionEvent event = new ListLockContentionEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            pendingLockWait.set(event);
+        }
+    }
+
+    @Override
+    public void onLockAcquired(Object list, boolean write, long waitNanos) {
+        ListLockContentionEvent event = pendingLockWait.get();
+        if (event == null) {
+            return;
+        }
+        pendingLockWait.remove();
+
+        if (waitNanos < lockWaitThresholdNanos) {
+            return;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.listClass = list.getClass().getName();
+            event.writeLock = write;
+            event.waitTime = waitNanos;
+            event.commit();
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.clevertec.collection.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event of wait for lock of concurrent custom list lasted longer than threshold.
+ * Committed by {@link JfrListMetricsListener} on thread which waited for lock.
+ */
+@Name("com.clevertec.collection.ListLockContention")
+@Label("List Lock Contention")
+@Category({"Clevertec", "Collections"})
+@Description("Long wait for lock of concurrent custom list")
+class ListLockContentionEvent extends Event {
+
+    @Label("List Class")
+    String listClass;
+
+    @Label("Write Lock")
+    boolean writeLock;
+
+    @Label("Wait Time")
+    @Timespan
+    long waitTime;
+
+}
@@ -0,0 +1,208 @@
+package com.clevertec.collection.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Entry point of opt-in instrumentation of custom lists.
+ * Instrumentation is enabled by system property {@value #ENABLED_PROPERTY} set to {@code true}
+ * at JVM startup. Hot paths of lists check {@link #ENABLED} before measuring anything;
+ * since it is a static final constant, JIT removes instrumentation code entirely when it is disabled.
+ * <p>
+ * When enabled, {@link #collector() default collector} is registered as listener and as MXBean
+ * {@value #OBJECT_NAME} in platform MBean server, {@link JfrListMetricsListener} is registered
+ * to emit flight recorder events, additional listeners can be added at any time.
+ * Failure to register MXBean is logged by {@link System.Logger} and does not disable instrumentation.
+ */
+public final class ListMetrics {
+
+    /**
+     * Name of system property enabling instrumentation.
+     */
+    public static final String ENABLED_PROPERTY = "com.clevertec.collection.metrics";
+
+    /**
+     * Object name of MXBean of default collector.
+     */
+    public static final String OBJECT_NAME = "com.clevertec.collection:type=ListMetrics";
+
+    /**
+     * Whether instrumentation is enabled.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    /**
+     * Registered listeners, iterated without locking on every callback.
+     */
+    private static final CopyOnWriteArrayList<ListMetricsListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Default collector aggregating metrics of all lists.
+     */
+    private static final ListMetricsCollector COLLECTOR = new ListMetricsCollector();
+
+    static {
+        if (ENABLED) {
+            LISTENERS.add(COLLECTOR);
+            LISTENERS.add(new JfrListMetricsListener());
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(COLLECTOR, new ObjectName(OBJECT_NAME));
+            } catch (InstanceAlreadyExistsException ex) {
+                // collector of the same name, e.g. loaded by another class loader, is already exposed
+            } catch (JMException ex) {
+                System.getLogger(ListMetrics.class.getName())
+                        .log(System.Logger.Level.WARNING, "Failed to register MXBean " + OBJECT_NAME, ex);
+            }
+        }
+    }
+
+    private ListMetrics() {
+    }
+
+    /**
+     * Returns default collector, it receives callbacks only if instrumentation is enabled.
+     *
+     * @return default collector
+     */
+    public static ListMetricsCollector collector() {
+        return COLLECTOR;
+    }
+
+    /**
+     * Registers listener of instrumentation callbacks. Has no effect on lists if instrumentation is disabled.
+     *
+     * @param listener listener to add
+     * @throws NullPointerException if specified listener is null
+     */
+    public static void addListener(ListMetricsListener listener) {
+        if (listener == null) {
+            throw new NullPointerException("Listener is null");
+        }
+
+        LISTENERS.addIfAbsent(listener);
+    }
+
+    /**
+     * Unregisters listener of instrumentation callbacks.
+     *
+     * @param listener listener to remove
+     */
+    public static void removeListener(ListMetricsListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * Returns lock recording wait and hold times of specified lock if instrumentation is enabled,
+     * otherwise specified lock itself.
+     *
+     * @param lock  lock of concurrent list
+     * @param list  concurrent list guarded by lock
+     * @param write {@code true} for write lock, {@code false} for read lock
+     * @return instrumented lock or specified lock
+     */
+    public static Lock instrument(Lock lock, Object list, boolean write) {
+        return ENABLED ? new InstrumentedLock(lock, list, write) : lock;
+    }
+
+    /**
+     * Notifies listeners that array buffer of list is about to be reallocated
+     * and returns start time of reallocation.
+     *
+     * @param list instrumented list
+     * @return value of {@link System#nanoTime()} at start of reallocation
+     * @see ListMetricsListener#beforeResize(Object)
+     */
+    public static long beginResize(Object list) {
+        for (ListMetricsListener listener : LISTENERS) {
+            listener.beforeResize(list);
+        }
+
+        return System.nanoTime();
+    }
+
+    /**
+     * Notifies listeners of array buffer reallocation.
+     *
+     * @see ListMetricsListener#onResize(Object, int, int, int, long, long)
+     */
+    public static void resize(Object list, int size, int oldCapacity, int newCapacity, long copiedBytes, long nanos) {
+        for (ListMetricsListener listener : LISTENERS) {
+            listener.onResize(list, size, oldCapacity, newCapacity, copiedBytes, nanos);
+        }
+    }
+
+    /**
+     * Notifies listeners of shift of array buffer elements.
+     *
+     * @see ListMetricsListener#onShift(Object, int)
+     */
+    public static void shift(Object list, int distance) {
+        for (ListMetricsListener listener : LISTENERS) {
+            listener.onShift(list, distance);
+        }
+    }
+
+    /**
+     * Notifies listeners that list is about to walk its links and returns start time of traversal.
+     *
+     * @param list instrumented list
+     * @return value of {@link System#nanoTime()} at start of traversal
+     * @see ListMetricsListener#beforeTraversal(Object)
+     */
+    public static long beginTraversal(Object list) {
+        for (ListMetricsListener listener : LISTENERS) {
+            listener.beforeTraversal(list);
+        }
+
+        return System.nanoTime();
+    }
+
+    /**
+     * Notifies listeners of link traversal.
+     *
+     * @see ListMetricsListener#onTraversal(Object, int, int, long)
+     */
+    public static void traversal(Object list, int size, int hops, long nanos) {
+        for (ListMetricsListener listener : LISTENERS) {
+            listener.onTraversal(list, size, hops, nanos);
+        }
+    }
+
+    /**
+     * Notifies listeners that thread is about to wait for lock.
+     *
+     * @see ListMetricsListener#beforeLockWait(Object, boolean)
+     */
+    static void lockRequested(Object list, boolean write) {
+        for (ListMetricsListener listener : LISTENERS) {
+            listener.beforeLockWait(list, write);
+        }
+    }
+
+    /**
+     * Notifies listeners of lock acquisition.
+     *
+     * @see ListMetricsListener#onLockAcquired(Object, boolean, long)
+     */
+    static void lockAcquired(Object list, boolean write, long waitNanos) {
+        for (ListMetricsListener listener : LISTENERS) {
+            listener.onLockAcquired(list, write, waitNanos);
+        }
+    }
+
+    /**
+     * Notifies listeners of lock release.
+     *
+     * @see ListMetricsListener#onLockReleased(Object, boolean, long)
+     */
+    static void lockReleased(Object list, boolean write, long holdNanos) {
+        for (ListMetricsListener listener : LISTENERS) {
+            listener.onLockReleased(list, write, holdNanos);
+        }
+    }
+
+}
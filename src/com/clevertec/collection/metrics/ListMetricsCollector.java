@@ -0,0 +1,154 @@
+package com.clevertec.collection.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listener aggregating metrics of all instrumented lists into striped counters,
+ * so concurrent updates from many threads do not contend. Exposed through JMX
+ * as {@link ListMetricsMXBean}, counters are summed on read.
+ */
+public class ListMetricsCollector implements ListMetricsListener, ListMetricsMXBean {
+
+    private final LongAdder resizes = new LongAdder();
+
+    private final LongAdder resizeCopiedBytes = new LongAdder();
+
+    private final LongAdder resizeNanos = new LongAdder();
+
+    private final LongAdder shifts = new LongAdder();
+
+    private final LongAdder shiftedElements = new LongAdder();
+
+    private final LongAdder traversals = new LongAdder();
+
+    private final LongAdder traversalHops = new LongAdder();
+
+    private final LongAccumulator maxTraversalHops = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder lockAcquisitions = new LongAdder();
+
+    private final LongAdder lockWaitNanos = new LongAdder();
+
+    private final LongAccumulator maxLockWaitNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder lockHoldNanos = new LongAdder();
+
+    private final LongAccumulator maxLockHoldNanos = new LongAccumulator(Math::max, 0);
+
+    @Override
+    public void onResize(Object list, int size, int oldCapacity, int newCapacity, long copiedBytes, long nanos) {
+        resizes.increment();
+        resizeCopiedBytes.add(copiedBytes);
+        resizeNanos.add(nanos);
+    }
+
+    @Override
+    public void onShift(Object list, int distance) {
+        shifts.increment();
+        shiftedElements.add(distance);
+    }
+
+    @Override
+    public void onTraversal(Object list, int size, int hops, long nanos) {
+        traversals.increment();
+        traversalHops.add(hops);
+        maxTraversalHops.accumulate(hops);
+    }
+
+    @Override
+    public void onLockAcquired(Object list, boolean write, long waitNanos) {
+        lockAcquisitions.increment();
+        lockWaitNanos.add(waitNanos);
+        maxLockWaitNanos.accumulate(waitNanos);
+    }
+
+    @Override
+    public void onLockReleased(Object list, boolean write, long holdNanos) {
+        lockHoldNanos.add(holdNanos);
+        maxLockHoldNanos.accumulate(holdNanos);
+    }
+
+    @Override
+    public long getResizes() {
+        return resizes.sum();
+    }
+
+    @Override
+    public long getResizeCopiedBytes() {
+        return resizeCopiedBytes.sum();
+    }
+
+    @Override
+    public long getResizeNanos() {
+        return resizeNanos.sum();
+    }
+
+    @Override
+    public long getShifts() {
+        return shifts.sum();
+    }
+
+    @Override
+    public long getShiftedElements() {
+        return shiftedElements.sum();
+    }
+
+    @Override
+    public long getTraversals() {
+        return traversals.sum();
+    }
+
+    @Override
+    public long getTraversalHops() {
+        return traversalHops.sum();
+    }
+
+    @Override
+    public long getMaxTraversalHops() {
+        return maxTraversalHops.get();
+    }
+
+    @Override
+    public long getLockAcquisitions() {
+        return lockAcquisitions.sum();
+    }
+
+    @Override
+    public long getLockWaitNanos() {
+        return lockWaitNanos.sum();
+    }
+
+    @Override
+    public long getMaxLockWaitNanos() {
+        return maxLockWaitNanos.get();
+    }
+
+    @Override
+    public long getLockHoldNanos() {
+        return lockHoldNanos.sum();
+    }
+
+    @Override
+    public long getMaxLockHoldNanos() {
+        return maxLockHoldNanos.get();
+    }
+
+    @Override
+    public void reset() {
+        resizes.reset();
+        resizeCopiedBytes.reset();
+        resizeNanos.reset();
+        shifts.reset();
+        shiftedElements.reset();
+        traversals.reset();
+        traversalHops.reset();
+        maxTraversalHops.reset();
+        lockAcquisitions.reset();
+        lockWaitNanos.reset();
+        maxLockWaitNanos.reset();
+        lockHoldNanos.reset();
+        maxLockHoldNanos.reset();
+    }
+
+}
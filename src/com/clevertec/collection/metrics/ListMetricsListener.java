@@ -0,0 +1,95 @@
+package com.clevertec.collection.metrics;
+
+/**
+ * Receiver of instrumentation callbacks from hot paths of custom lists.
+ * Callbacks are invoked synchronously by thread performing list operation, possibly under lock of list,
+ * so implementations must be thread-safe and fast. All methods do nothing by default.
+ * Listeners are notified only if instrumentation is enabled, see {@link ListMetrics}.
+ *
+ * @see ListMetrics#addListener(ListMetricsListener)
+ */
+public interface ListMetricsListener {
+
+    /**
+     * Called before array buffer of list is reallocated, followed by {@link #onResize}
+     * on the same thread once reallocation is finished.
+     *
+     * @param list instrumented list
+     */
+    default void beforeResize(Object list) {
+    }
+
+    /**
+     * Called after array buffer of list has been reallocated.
+     *
+     * @param list        instrumented list
+     * @param size        number of elements in list at the moment of resize
+     * @param oldCapacity capacity of list before resize
+     * @param newCapacity capacity of list after resize
+     * @param copiedBytes estimated number of bytes copied to new buffer
+     * @param nanos       time spent on allocation and copy in nanoseconds
+     */
+    default void onResize(Object list, int size, int oldCapacity, int newCapacity, long copiedBytes, long nanos) {
+    }
+
+    /**
+     * Called after elements of array buffer have been shifted by insertion or removal in the middle of list.
+     *
+     * @param list     instrumented list
+     * @param distance number of shifted elements
+     */
+    default void onShift(Object list, int distance) {
+    }
+
+    /**
+     * Called before linked list walks its links, followed by {@link #onTraversal}
+     * on the same thread once traversal is finished.
+     *
+     * @param list instrumented list
+     */
+    default void beforeTraversal(Object list) {
+    }
+
+    /**
+     * Called after linked list has walked its links to find element by index or by value.
+     *
+     * @param list  instrumented list
+     * @param size  number of elements in list at the moment of traversal
+     * @param hops  number of links followed
+     * @param nanos time spent on traversal in nanoseconds
+     */
+    default void onTraversal(Object list, int size, int hops, long nanos) {
+    }
+
+    /**
+     * Called before thread waits for lock of concurrent list, followed by {@link #onLockAcquired}
+     * on the same thread once lock is acquired. Not called for {@link java.util.concurrent.locks.Lock#tryLock()},
+     * which does not wait.
+     *
+     * @param list  instrumented list
+     * @param write {@code true} for write lock, {@code false} for read lock
+     */
+    default void beforeLockWait(Object list, boolean write) {
+    }
+
+    /**
+     * Called after thread has acquired lock of concurrent list.
+     *
+     * @param list      instrumented list
+     * @param write     {@code true} for write lock, {@code false} for read lock
+     * @param waitNanos time spent waiting for lock in nanoseconds
+     */
+    default void onLockAcquired(Object list, boolean write, long waitNanos) {
+    }
+
+    /**
+     * Called after thread has released lock of concurrent list it held.
+     *
+     * @param list      instrumented list
+     * @param write     {@code true} for write lock, {@code false} for read lock
+     * @param holdNanos time lock was held in nanoseconds, including time spent awaiting its conditions
+     */
+    default void onLockReleased(Object list, boolean write, long holdNanos) {
+    }
+
+}
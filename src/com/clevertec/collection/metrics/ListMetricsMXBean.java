@@ -0,0 +1,105 @@
+package com.clevertec.collection.metrics;
+
+/**
+ * Management interface of aggregated metrics of all instrumented custom lists,
+ * registered in platform MBean server under {@link ListMetrics#OBJECT_NAME}.
+ */
+public interface ListMetricsMXBean {
+
+    /**
+     * Returns number of array buffer reallocations.
+     *
+     * @return number of resizes
+     */
+    long getResizes();
+
+    /**
+     * Returns estimated number of bytes copied by array buffer reallocations.
+     *
+     * @return number of copied bytes
+     */
+    long getResizeCopiedBytes();
+
+    /**
+     * Returns total time spent on array buffer reallocations.
+     *
+     * @return time of resizes in nanoseconds
+     */
+    long getResizeNanos();
+
+    /**
+     * Returns number of shifts of array buffer elements.
+     *
+     * @return number of shifts
+     */
+    long getShifts();
+
+    /**
+     * Returns total number of shifted array buffer elements.
+     *
+     * @return sum of shift distances
+     */
+    long getShiftedElements();
+
+    /**
+     * Returns number of link traversals of linked lists.
+     *
+     * @return number of traversals
+     */
+    long getTraversals();
+
+    /**
+     * Returns total number of links followed by traversals.
+     *
+     * @return sum of traversal hops
+     */
+    long getTraversalHops();
+
+    /**
+     * Returns the longest traversal.
+     *
+     * @return maximum number of hops of single traversal
+     */
+    long getMaxTraversalHops();
+
+    /**
+     * Returns number of lock acquisitions of concurrent lists.
+     *
+     * @return number of acquisitions
+     */
+    long getLockAcquisitions();
+
+    /**
+     * Returns total time threads spent waiting for locks.
+     *
+     * @return lock wait time in nanoseconds
+     */
+    long getLockWaitNanos();
+
+    /**
+     * Returns the longest single wait for lock.
+     *
+     * @return maximum lock wait time in nanoseconds
+     */
+    long getMaxLockWaitNanos();
+
+    /**
+     * Returns total time locks were held.
+     *
+     * @return lock hold time in nanoseconds
+     */
+    long getLockHoldNanos();
+
+    /**
+     * Returns the longest single hold of lock.
+     *
+     * @return maximum lock hold time in nanoseconds
+     */
+    long getMaxLockHoldNanos();
+
+    /**
+     * Resets all counters to zero.
+     */
+    void reset();
+
+}
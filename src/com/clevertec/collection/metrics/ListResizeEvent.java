@@ -0,0 +1,41 @@
+package com.clevertec.collection.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event of array buffer reallocation of custom list.
+ * Committed by {@link JfrListMetricsListener} on thread which performed resize.
+ */
+@Name("com.clevertec.collection.ListResize")
+@Label("List Resize")
+@Category({"Clevertec", "Collections"})
+@Description("Reallocation of array buffer of custom list")
+class ListResizeEvent extends Event {
+
+    @Label("List Class")
+    String listClass;
+
+    @Label("Size")
+    int size;
+
+    @Label("Old Capacity")
+    int oldCapacity;
+
+    @Label("New Capacity")
+    int newCapacity;
+
+    @Label("Copied")
+    @DataAmount
+    long copiedBytes;
+
+    @Label("Time Spent")
+    @Timespan
+    long elapsed;
+
+}
@@ -0,0 +1,33 @@
+package com.clevertec.collection.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event of link traversal of custom linked list lasted longer than threshold.
+ * Committed by {@link JfrListMetricsListener} on thread which performed traversal.
+ */
+@Name("com.clevertec.collection.ListTraversal")
+@Label("List Traversal")
+@Category({"Clevertec", "Collections"})
+@Description("Long walk over links of custom linked list by index or by value")
+class ListTraversalEvent extends Event {
+
+    @Label("List Class")
+    String listClass;
+
+    @Label("Size")
+    int size;
+
+    @Label("Hops")
+    int hops;
+
+    @Label("Time Spent")
+    @Timespan
+    long elapsed;
+
+}
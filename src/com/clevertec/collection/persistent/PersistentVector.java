@@ -0,0 +1,635 @@
+package com.clevertec.collection.persistent;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Persistent immutable list implemented as bit-partitioned vector trie with 32-way branching.
+ * Every modification returns new version of list sharing almost all structure with previous one:
+ * only path from root to modified leaf, at most {@code log32(n)} arrays of 32 references, is copied.
+ * The last up to 32 elements are kept in separate tail array, so {@link #plus(Object)} and {@link #pop()}
+ * mostly copy only the tail. Old versions stay valid and unchanged, which makes undo stacks
+ * and readers of consistent versions cheap.
+ * <p>
+ * Methods of {@link List} interface modifying list throw {@link UnsupportedOperationException};
+ * use {@link #plus(Object)}, {@link #with(int, Object)} and {@link #pop()} instead,
+ * or {@link Builder} for bulk construction.
+ * Permits {@code null}.
+ *
+ * @param <E> type of contained list elements
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess, Serializable {
+
+    /**
+     * Number of bits of index consumed by one level of trie.
+     */
+    private static final int BITS = 5;
+
+    /**
+     * Branching factor of trie and capacity of tail.
+     */
+    private static final int WIDTH = 1 << BITS;
+
+    /**
+     * Mask extracting index within node from shifted element index.
+     */
+    private static final int MASK = WIDTH - 1;
+
+    /**
+     * Shared empty root node.
+     */
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+
+    /**
+     * Shared empty vector.
+     */
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    /**
+     * Number of elements in vector.
+     */
+    private final int size;
+
+    /**
+     * Number of index bits below root level.
+     */
+    private final int shift;
+
+    /**
+     * Root of trie holding all elements except tail ones.
+     */
+    private final Node root;
+
+    /**
+     * The last elements of vector, array of exact length from 0 to 32.
+     */
+    private final Object[] tail;
+
+    /**
+     * Node of trie: array of 32 child nodes at inner levels or of 32 elements at leaf level.
+     * Node may be modified in place only by builder owning its edit token.
+     */
+    private static final class Node implements Serializable {
+
+        /**
+         * Token of builder which created node and may modify it in place, {@code null} for nodes of vectors.
+         */
+        final transient Object edit;
+
+        /**
+         * Child nodes or elements.
+         */
+        final Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+
+        Node(Object edit) {
+            this(edit, new Object[WIDTH]);
+        }
+    }
+
+    private PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Returns empty vector.
+     *
+     * @param <E> type of vector elements
+     * @return empty vector
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * Returns vector containing elements of specified collection in order they are returned by its iterator,
+     * built by transient {@link Builder} without intermediate versions.
+     *
+     * @param c collection containing elements
+     * @param <E> type of vector elements
+     * @return vector containing specified elements
+     * @throws NullPointerException if specified collection is null
+     */
+    public static <E> PersistentVector<E> copyOf(Collection<? extends E> c) {
+        Builder<E> builder = builder();
+        for (E element : c) {
+            builder.add(element);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Returns new empty builder.
+     *
+     * @param <E> type of vector elements
+     * @return empty builder
+     */
+    public static <E> Builder<E> builder() {
+        return new Builder<>(empty());
+    }
+
+    /**
+     * Returns new builder initially containing elements of this vector.
+     * Builder copies nodes of this vector lazily, only when it modifies them.
+     *
+     * @return builder containing elements of this vector
+     */
+    public Builder<E> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    /**
+     * Returns element at specified position in vector in {@code O(log32(n))} time.
+     *
+     * @param index index of element to return
+     * @return element at specified position in vector
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkElementIndex(index, size);
+
+        return (E) arrayFor(index)[index & MASK];
+    }
+
+    /**
+     * Returns number of elements in vector.
+     *
+     * @return number of elements in vector
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns new version of vector with specified element appended to the end.
+     *
+     * @param element element to be appended
+     * @return new version of vector
+     */
+    public PersistentVector<E> plus(E element) {
+        final int tailSize = size - tailOffset(size);
+        if (tailSize < WIDTH) {
+            final Object[] newTail = Arrays.copyOf(tail, tailSize + 1);
+            newTail[tailSize] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+
+        final Node tailNode = new Node(null, tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Node(null);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(size, shift, root, tailNode);
+        }
+
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{element});
+    }
+
+    /**
+     * Returns new version of vector with element at specified position replaced by specified element.
+     *
+     * @param index   index of element to replace
+     * @param element element to be stored at specified position
+     * @return new version of vector
+     * @throws IndexOutOfBoundsException if index is negative or out of range
+     *                                   ({@code index < 0 || index >= size()})
+     */
+    public PersistentVector<E> with(int index, E element) {
+        checkElementIndex(index, size);
+
+        if (index >= tailOffset(size)) {
+            final Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+
+        return new PersistentVector<>(size, shift, assoc(shift, root, index, element), tail);
+    }
+
+    /**
+     * Returns new version of vector without its last element.
+     *
+     * @return new version of vector
+     * @throws NoSuchElementException if vector is empty
+     */
+    public PersistentVector<E> pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("Vector is empty");
+        }
+        if (size == 1) {
+            return empty();
+        }
+
+        if (size - tailOffset(size) > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+
+        final Object[] newTail = arrayFor(size - 2);
+        Node newRoot = popTail(size, shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    /**
+     * Performs action for each element in order of index, visiting leaf arrays one after another.
+     *
+     * @param action action to be performed for each element
+     * @throws NullPointerException if specified action is null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        for (int i = 0; i < size; i += WIDTH) {
+            final Object[] array = arrayFor(i);
+            for (int j = 0, end = Math.min(WIDTH, size - i); j < end; j++) {
+                action.accept((E) array[j]);
+            }
+        }
+    }
+
+    /**
+     * Returns iterator over elements in vector looking up each leaf array once.
+     *
+     * @return iterator over elements in vector
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int cursor = 0;
+
+            private Object[] array = size > 0 ? arrayFor(0) : null;
+
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                if (cursor > 0 && (cursor & MASK) == 0) {
+                    array = arrayFor(cursor);
+                }
+
+                return (E) array[cursor++ & MASK];
+            }
+        };
+    }
+
+    /**
+     * Returns array of leaf or tail containing element at specified index.
+     */
+    private Object[] arrayFor(int index) {
+        if (index >= tailOffset(size)) {
+            return tail;
+        }
+
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+
+        return node.array;
+    }
+
+    /**
+     * Returns index of the first element of tail in vector of specified size.
+     */
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Returns path of new single-child nodes from specified level down to specified node.
+     */
+    private static Node newPath(Object edit, int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+
+        final Node path = new Node(edit);
+        path.array[0] = newPath(edit, level - BITS, node);
+
+        return path;
+    }
+
+    /**
+     * Returns copy of path from specified node at specified level with full tail node inserted
+     * as the last leaf of vector of specified size.
+     */
+    private static Node pushTail(int size, int level, Node parent, Node tailNode) {
+        final int subIndex = ((size - 1) >>> level) & MASK;
+        final Node copy = new Node(null, parent.array.clone());
+
+        Node nodeToInsert;
+        if (level == BITS) {
+            nodeToInsert = tailNode;
+        } else {
+            final Node child = (Node) parent.array[subIndex];
+            nodeToInsert = child != null
+                    ? pushTail(size, level - BITS, child, tailNode)
+                    : newPath(null, level - BITS, tailNode);
+        }
+        copy.array[subIndex] = nodeToInsert;
+
+        return copy;
+    }
+
+    /**
+     * Returns copy of path from specified node at specified level with element at specified index replaced.
+     */
+    private static Node assoc(int level, Node node, int index, Object element) {
+        final Node copy = new Node(null, node.array.clone());
+
+        if (level == 0) {
+            copy.array[index & MASK] = element;
+        } else {
+            final int subIndex = (index >>> level) & MASK;
+            copy.array[subIndex] = assoc(level - BITS, (Node) node.array[subIndex], index, element);
+        }
+
+        return copy;
+    }
+
+    /**
+     * Returns copy of path from specified node at specified level without the last leaf
+     * of vector of specified size, or {@code null} if node becomes empty.
+     */
+    private static Node popTail(int size, int level, Node node) {
+        final int subIndex = ((size - 2) >>> level) & MASK;
+
+        if (level > BITS) {
+            final Node newChild = popTail(size, level - BITS, (Node) node.array[subIndex]);
+            if (newChild == null && subIndex == 0) {
+                return null;
+            }
+
+            final Node copy = new Node(null, node.array.clone());
+            copy.array[subIndex] = newChild;
+            return copy;
+        }
+
+        if (subIndex == 0) {
+            return null;
+        }
+
+        final Node copy = new Node(null, node.array.clone());
+        copy.array[subIndex] = null;
+
+        return copy;
+    }
+
+    /**
+     * Checks whether specified index is in range of specified size.
+     */
+    private static void checkElementIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Element index = " + index + ", list size = " + size);
+        }
+    }
+
+    /**
+     * Transient mutable builder of persistent vector for bulk construction.
+     * Builder modifies in place nodes it has created or already copied, identified by its edit token,
+     * so building vector of {@code n} elements allocates about {@code n / 32} arrays instead of copying
+     * path on every add. {@link #build()} returns persistent vector in constant time and renews edit token,
+     * so builder remains usable and never modifies nodes of built vectors.
+     * Not thread-safe.
+     *
+     * @param <E> type of vector elements
+     */
+    public static final class Builder<E> {
+
+        /**
+         * Token identifying nodes which builder may modify in place.
+         */
+        private Object edit = new Object();
+
+        /**
+         * Number of elements in builder.
+         */
+        private int size;
+
+        /**
+         * Number of index bits below root level.
+         */
+        private int shift;
+
+        /**
+         * Root of trie.
+         */
+        private Node root;
+
+        /**
+         * The last elements, array of full width owned by builder.
+         */
+        private Object[] tail;
+
+        private Builder(PersistentVector<E> vector) {
+            size = vector.size;
+            shift = vector.shift;
+            root = new Node(edit, vector.root.array.clone());
+            tail = Arrays.copyOf(vector.tail, WIDTH);
+        }
+
+        /**
+         * Appends element to the end.
+         *
+         * @param element element to be appended
+         * @return this builder
+         */
+        public Builder<E> add(E element) {
+            final int tailSize = size - tailOffset(size);
+            if (tailSize < WIDTH) {
+                tail[tailSize] = element;
+                size++;
+                return this;
+            }
+
+            final Node tailNode = new Node(edit, tail);
+            tail = new Object[WIDTH];
+            tail[0] = element;
+
+            if ((size >>> BITS) > (1 << shift)) {
+                final Node newRoot = new Node(edit);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(edit, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(shift, root, tailNode);
+            }
+            size++;
+
+            return this;
+        }
+
+        /**
+         * Appends all elements of specified collection in order they are returned by its iterator.
+         *
+         * @param c collection containing elements to be appended
+         * @return this builder
+         * @throws NullPointerException if specified collection is null
+         */
+        public Builder<E> addAll(Collection<? extends E> c) {
+            for (E element : c) {
+                add(element);
+            }
+
+            return this;
+        }
+
+        /**
+         * Replaces element at specified position.
+         *
+         * @param index   index of element to replace
+         * @param element element to be stored at specified position
+         * @return this builder
+         * @throws IndexOutOfBoundsException if index is negative or out of range
+         *                                   ({@code index < 0 || index >= size()})
+         */
+        public Builder<E> set(int index, E element) {
+            checkElementIndex(index, size);
+
+            if (index >= tailOffset(size)) {
+                tail[index & MASK] = element;
+            } else {
+                root = assoc(shift, root, index, element);
+            }
+
+            return this;
+        }
+
+        /**
+         * Returns element at specified position.
+         *
+         * @param index index of element to return
+         * @return element at specified position
+         * @throws IndexOutOfBoundsException if index is negative or out of range
+         *                                   ({@code index < 0 || index >= size()})
+         */
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            checkElementIndex(index, size);
+
+            if (index >= tailOffset(size)) {
+                return (E) tail[index & MASK];
+            }
+
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                node = (Node) node.array[(index >>> level) & MASK];
+            }
+
+            return (E) node.array[index & MASK];
+        }
+
+        /**
+         * Returns number of elements in builder.
+         *
+         * @return number of elements
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns persistent vector containing elements of builder. Trie is shared with vector
+         * without copying, only tail is copied; further modifications of builder do not affect vector.
+         *
+         * @return persistent vector
+         */
+        public PersistentVector<E> build() {
+            if (size == 0) {
+                return empty();
+            }
+
+            final PersistentVector<E> vector =
+                    new PersistentVector<>(size, shift, root, Arrays.copyOf(tail, size - tailOffset(size)));
+            edit = new Object();
+
+            return vector;
+        }
+
+        /**
+         * Returns node itself if builder owns it, otherwise its copy owned by builder.
+         */
+        private Node ensureEditable(Node node) {
+            return node.edit == edit ? node : new Node(edit, node.array.clone());
+        }
+
+        /**
+         * Inserts full tail node as the last leaf modifying owned nodes in place.
+         */
+        private Node pushTail(int level, Node parent, Node tailNode) {
+            final Node node = ensureEditable(parent);
+            final int subIndex = ((size - 1) >>> level) & MASK;
+
+            Node nodeToInsert;
+            if (level == BITS) {
+                nodeToInsert = tailNode;
+            } else {
+                final Node child = (Node) node.array[subIndex];
+                nodeToInsert = child != null
+                        ? pushTail(level - BITS, child, tailNode)
+                        : newPath(edit, level - BITS, tailNode);
+            }
+            node.array[subIndex] = nodeToInsert;
+
+            return node;
+        }
+
+        /**
+         * Replaces element at specified index modifying owned nodes in place.
+         */
+        private Node assoc(int level, Node node, int index, Object element) {
+            final Node editable = ensureEditable(node);
+
+            if (level == 0) {
+                editable.array[index & MASK] = element;
+            } else {
+                final int subIndex = (index >>> level) & MASK;
+                editable.array[subIndex] = assoc(level - BITS, (Node) editable.array[subIndex], index, element);
+            }
+
+            return editable;
+        }
+    }
+
+}
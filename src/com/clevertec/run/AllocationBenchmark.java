@@ -0,0 +1,87 @@
+package com.clevertec.run;
+
+import com.clevertec.collection.CustomLinkedList;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Single-threaded allocation benchmark of linked lists used as FIFO queue.
+ * Element is appended to the end of list and the first one is removed, keeping list size stable.
+ * Prints number of bytes allocated by benchmark thread per operation, measured by
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}, and throughput.
+ * Elements are taken from {@link Integer} cache so that only list nodes are allocated.
+ */
+public class AllocationBenchmark {
+
+    private static final int INITIAL_ELEMENTS = 1_000;
+
+    private static final int WARMUP_OPERATIONS = 5_000_000;
+
+    private static final int MEASURE_OPERATIONS = 20_000_000;
+
+    private static final int NODE_POOL_CAPACITY = 64;
+
+    /**
+     * Consumes removed elements so that operations are not eliminated by JIT.
+     */
+    static volatile long sink;
+
+    public static void main(String... args) {
+
+        run("java.util.LinkedList", LinkedList::new);
+
+        run("CustomLinkedList", CustomLinkedList::new);
+
+        run("CustomLinkedList, node pool = " + NODE_POOL_CAPACITY, () -> {
+            CustomLinkedList<Integer> list = new CustomLinkedList<>();
+            list.setNodePoolCapacity(NODE_POOL_CAPACITY);
+            return list;
+        });
+
+    }
+
+    public static void run(String name, Supplier<List<Integer>> listFactory) {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+            System.out.println(name + ": thread allocation accounting is not supported by JVM");
+            return;
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        long threadId = Thread.currentThread().getId();
+
+        List<Integer> list = listFactory.get();
+        for (int i = 0; i < INITIAL_ELEMENTS; i++) {
+            list.add(i & 127);
+        }
+
+        measure(list, WARMUP_OPERATIONS);
+
+        long bytesBefore = allocationBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        measure(list, MEASURE_OPERATIONS);
+        long nanos = System.nanoTime() - start;
+        long bytes = allocationBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        System.out.println(name + ": operations = " + MEASURE_OPERATIONS);
+        System.out.printf("Allocated bytes per operation: %.2f%n", (double) bytes / MEASURE_OPERATIONS);
+        System.out.println("Allocation rate, MB per second: " + bytes * 1_000 / Math.max(1, nanos));
+        System.out.println("Operations per second: " + MEASURE_OPERATIONS * 1_000_000_000L / Math.max(1, nanos));
+        System.out.println("----------------------------------------");
+    }
+
+    private static void measure(List<Integer> list, int operations) {
+        long sum = 0;
+
+        for (int i = 0; i < operations; i++) {
+            list.add(i & 127);
+            sum += list.remove(0);
+        }
+
+        sink = sum;
+    }
+
+}
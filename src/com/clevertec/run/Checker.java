@@ -1,6 +1,7 @@
 package com.clevertec.run;
 
 import com.clevertec.collection.CustomArrayList;
+import com.clevertec.collection.CustomCollectors;
 import com.clevertec.collection.CustomLinkedList;
 
 import java.util.List;
@@ -105,6 +106,8 @@ public class Checker {
         System.out.println("Using custom list with stream: ");
         System.out.print("First element of list: ");
         System.out.println(list.stream().findFirst().orElse(null));
+        System.out.print("Doubled elements collected in parallel: ");
+        System.out.println(list.parallelStream().map(element -> element * 2).collect(CustomCollectors.toCustomArrayList()));
         System.out.println("----------------------------------------");
     }
 
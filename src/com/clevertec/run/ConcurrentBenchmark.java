@@ -0,0 +1,213 @@
+package com.clevertec.run;
+
+import com.clevertec.collection.concurrent.ConcurrentCustomArrayList;
+import com.clevertec.collection.concurrent.ConcurrentCustomLinkedList;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Multithreaded read/write benchmark of concurrent custom lists.
+ * Reader threads iterate list repeatedly while writer threads append and remove elements,
+ * keeping list size stable. Prints throughput of readers (elements visited) and writers (operations).
+ * Every list is measured twice: readers use its iterator, then they repeat traversal of former iterator,
+ * which read volatile size of list on every {@code hasNext} and called {@code get(i)} on every {@code next},
+ * taking read lock per element, so the two runs compare iteration before and after its optimization.
+ */
+public class ConcurrentBenchmark {
+
+    private static final int READ_THREADS = 4;
+
+    private static final int WRITE_THREADS = 2;
+
+    private static final int INITIAL_ELEMENTS = 1_000;
+
+    private static final int WARMUP_MILLIS = 2_000; // im millis
+
+    private static final int MEASURE_MILLIS = 5_000; // im millis
+
+    /**
+     * Consumes values computed by readers so that iteration is not eliminated by JIT.
+     */
+    static volatile long sink;
+
+    public static void main(String... args) throws InterruptedException {
+
+        run("ConcurrentCustomArrayList, former iteration", ConcurrentCustomArrayList::new, true);
+
+        run("ConcurrentCustomArrayList, iterator", ConcurrentCustomArrayList::new, false);
+
+        run("ConcurrentCustomLinkedList, former iteration", ConcurrentCustomLinkedList::new, true);
+
+        run("ConcurrentCustomLinkedList, iterator", ConcurrentCustomLinkedList::new, false);
+
+    }
+
+    public static void run(String name, Supplier<List<Integer>> listFactory,
+                           boolean formerIteration) throws InterruptedException {
+        List<Integer> list = listFactory.get();
+        for (int i = 0; i < INITIAL_ELEMENTS; i++) {
+            list.add(i);
+        }
+
+        measure(list, WARMUP_MILLIS, formerIteration);
+        Result result = measure(list, MEASURE_MILLIS, formerIteration);
+
+        System.out.println(name + ": readers = " + READ_THREADS + ", writers = " + WRITE_THREADS);
+        System.out.println("Read elements per second: " + result.reads * 1000 / MEASURE_MILLIS);
+        System.out.println("Write operations per second: " + result.writes * 1000 / MEASURE_MILLIS);
+        System.out.println("----------------------------------------");
+    }
+
+    private static Result measure(List<Integer> list, int millis, boolean formerIteration) throws InterruptedException {
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+        CountDownLatch finished = new CountDownLatch(READ_THREADS + WRITE_THREADS);
+        long deadline = System.nanoTime() + millis * 1_000_000L;
+
+        for (int i = 0; i < READ_THREADS; i++) {
+            new ReadThread("Reader-" + i, list, reads, deadline, finished, formerIteration).start();
+        }
+        for (int i = 0; i < WRITE_THREADS; i++) {
+            new WriteThread("Writer-" + i, list, writes, deadline, finished).start();
+        }
+
+        finished.await();
+
+        return new Result(reads.sum(), writes.sum());
+    }
+
+    /**
+     * Appends element to the end of list and removes element from its beginning until deadline.
+     */
+    static class WriteThread extends Thread {
+
+        private final List<Integer> list;
+
+        private final LongAdder operations;
+
+        private final long deadline;
+
+        private final CountDownLatch finished;
+
+        WriteThread(String name, List<Integer> list, LongAdder operations, long deadline, CountDownLatch finished) {
+            super.setName(name);
+            this.list = list;
+            this.operations = operations;
+            this.deadline = deadline;
+            this.finished = finished;
+        }
+
+        public void run() {
+            int elementNumber = 0;
+
+            while (System.nanoTime() < deadline) {
+                list.add(elementNumber++);
+                try {
+                    list.remove(0);
+                } catch (IndexOutOfBoundsException ex) {
+                    // removed concurrently by another writer
+                }
+                operations.add(2);
+            }
+
+            finished.countDown();
+        }
+    }
+
+    /**
+     * Iterates list repeatedly until deadline.
+     */
+    static class ReadThread extends Thread {
+
+        private final List<Integer> list;
+
+        private final LongAdder elements;
+
+        private final long deadline;
+
+        private final CountDownLatch finished;
+
+        private final boolean formerIteration;
+
+        ReadThread(String name, List<Integer> list, LongAdder elements, long deadline, CountDownLatch finished,
+                   boolean formerIteration) {
+            super.setName(name);
+            this.list = list;
+            this.elements = elements;
+            this.deadline = deadline;
+            this.finished = finished;
+            this.formerIteration = formerIteration;
+        }
+
+        public void run() {
+            long sum = 0;
+
+            while (System.nanoTime() < deadline) {
+                long visited = 0;
+                Iterator<Integer> iterator = formerIteration ? new FormerIterator(list) : list.iterator();
+                try {
+                    while (iterator.hasNext()) {
+                        Integer next = iterator.next();
+                        sum += next == null ? 0 : next;
+                        visited++;
+                    }
+                } catch (NoSuchElementException ex) {
+                    // only former iteration fails when list shrinks between hasNext and next
+                }
+                elements.add(visited);
+            }
+
+            sink = sum;
+
+            finished.countDown();
+        }
+    }
+
+    /**
+     * Traversal of iterators of concurrent lists before iteration was optimized:
+     * volatile size is read on every step and every element is read by {@code get(i)}.
+     */
+    static class FormerIterator implements Iterator<Integer> {
+
+        private final List<Integer> list;
+
+        private int cursor;
+
+        FormerIterator(List<Integer> list) {
+            this.list = list;
+        }
+
+        public boolean hasNext() {
+            return cursor != list.size();
+        }
+
+        public Integer next() {
+            try {
+                return list.get(cursor++);
+            } catch (IndexOutOfBoundsException e) {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+
+    /**
+     * Measured number of read elements and write operations.
+     */
+    private static class Result {
+
+        private final long reads;
+
+        private final long writes;
+
+        Result(long reads, long writes) {
+            this.reads = reads;
+            this.writes = writes;
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.clevertec.run;
+
+import com.clevertec.collection.concurrent.ConcurrentCustomLinkedList;
+import com.clevertec.collection.concurrent.ListJournal;
+import com.clevertec.collection.concurrent.LockingMode;
+import com.clevertec.collection.mapped.ElementCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Multithreaded benchmark of durable {@link ConcurrentCustomLinkedList} used as job queue.
+ * Worker threads offer element to the end of queue and poll element from its beginning until deadline.
+ * Compares throughput of in-memory list with lists journaled at several sync intervals,
+ * interval 0 means that every operation waits for group commit of its record.
+ */
+public class DurabilityBenchmark {
+
+    private static final int THREADS = 8;
+
+    private static final long[] SYNC_INTERVALS = {0, 1, 10, 100}; // im millis
+
+    private static final int WARMUP_MILLIS = 2_000; // im millis
+
+    private static final int MEASURE_MILLIS = 5_000; // im millis
+
+    public static void main(String... args) throws IOException, InterruptedException {
+
+        run("In-memory", new ConcurrentCustomLinkedList<>());
+
+        for (long interval : SYNC_INTERVALS) {
+            Path directory = Files.createTempDirectory("list-journal");
+            try (ListJournal<Integer> journal = ListJournal.open(directory, ElementCodec.ints(),
+                    interval, TimeUnit.MILLISECONDS)) {
+                run("Journaled, sync interval = " + interval + " ms",
+                        new ConcurrentCustomLinkedList<>(LockingMode.EXCLUSIVE, journal));
+            } finally {
+                deleteDirectory(directory);
+            }
+        }
+
+    }
+
+    public static void run(String name, ConcurrentCustomLinkedList<Integer> list) throws InterruptedException {
+        BlockingDeque<Integer> queue = list.asBlockingDeque();
+
+        measure(queue, WARMUP_MILLIS);
+        long operations = measure(queue, MEASURE_MILLIS);
+
+        System.out.println(name + ": threads = " + THREADS);
+        System.out.println("Operations per second: " + operations * 1000 / MEASURE_MILLIS);
+        System.out.println("----------------------------------------");
+    }
+
+    private static long measure(BlockingDeque<Integer> queue, int millis) throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        CountDownLatch finished = new CountDownLatch(THREADS);
+        long deadline = System.nanoTime() + millis * 1_000_000L;
+
+        for (int i = 0; i < THREADS; i++) {
+            new Thread(() -> {
+                int element = 0;
+                while (System.nanoTime() < deadline) {
+                    queue.offer(element++ & 127);
+                    queue.poll();
+                    operations.add(2);
+                }
+                finished.countDown();
+            }, "Worker-" + i).start();
+        }
+
+        finished.await();
+
+        return operations.sum();
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Iterator<Path> it = files.iterator(); it.hasNext(); ) {
+                Files.delete(it.next());
+            }
+        }
+        Files.delete(directory);
+    }
+
+}
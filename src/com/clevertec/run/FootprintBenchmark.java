@@ -0,0 +1,91 @@
+package com.clevertec.run;
+
+import com.clevertec.collection.CustomArrayList;
+import com.clevertec.collection.CustomCompactLinkedList;
+import com.clevertec.collection.CustomIntArrayList;
+import com.clevertec.collection.CustomLinkedList;
+import com.clevertec.collection.MemoryStats;
+import com.clevertec.collection.concurrent.ConcurrentCustomArrayList;
+import com.clevertec.collection.concurrent.ConcurrentCustomLinkedList;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Validates footprint estimates of custom lists against measured heap usage.
+ * Builds many copies of list holding the same shared element, so only list structures occupy heap,
+ * and compares heap growth per copy after full garbage collection with {@code footprint()} estimate.
+ * Estimates of concurrent lists exclude lock structures, so their measured footprint is expected to be higher
+ * by constant of 48 to 72 bytes.
+ * Run with {@code -XX:+UseCompressedOops} (default for heaps under 32 GB) for layout assumed by estimates.
+ */
+public class FootprintBenchmark {
+
+    private static final int[] SIZES = {10, 1_000, 100_000};
+
+    private static final int ELEMENTS_PER_RUN = 4_000_000;
+
+    private static final int GC_ROUNDS = 5;
+
+    private static final Integer SHARED_ELEMENT = 1;
+
+    public static void main(String... args) {
+
+        for (int size : SIZES) {
+            run("CustomArrayList", size, CustomArrayList::new, list -> ((CustomArrayList<Integer>) list).footprint());
+
+            run("CustomIntArrayList", size, CustomIntArrayList::new, list -> ((CustomIntArrayList) list).footprint());
+
+            run("CustomLinkedList", size, CustomLinkedList::new, list -> ((CustomLinkedList<Integer>) list).footprint());
+
+            run("CustomCompactLinkedList", size, CustomCompactLinkedList::new,
+                    list -> ((CustomCompactLinkedList<Integer>) list).footprint());
+
+            run("ConcurrentCustomArrayList", size, ConcurrentCustomArrayList::new,
+                    list -> ((ConcurrentCustomArrayList<Integer>) list).footprint());
+
+            run("ConcurrentCustomLinkedList", size, ConcurrentCustomLinkedList::new,
+                    list -> ((ConcurrentCustomLinkedList<Integer>) list).footprint());
+        }
+
+    }
+
+    public static void run(String name, int size, Supplier<List<Integer>> listFactory,
+                           Function<List<Integer>, MemoryStats> footprint) {
+        int copies = Math.max(1, ELEMENTS_PER_RUN / size);
+        Object[] lists = new Object[copies];
+
+        long before = usedHeap();
+        for (int i = 0; i < copies; i++) {
+            List<Integer> list = listFactory.get();
+            for (int j = 0; j < size; j++) {
+                list.add(SHARED_ELEMENT);
+            }
+            lists[i] = list;
+        }
+        long after = usedHeap();
+
+        @SuppressWarnings("unchecked")
+        MemoryStats stats = footprint.apply((List<Integer>) lists[0]);
+        double measured = (double) (after - before) / copies;
+        double deviation = (stats.shallowBytes() - measured) * 100 / measured;
+
+        System.out.println(name + ": size = " + size + ", copies = " + copies);
+        System.out.println("Estimated: " + stats);
+        System.out.printf("Measured bytes per list: %.1f, estimate deviation: %.2f%%%n", measured, deviation);
+        System.out.println("----------------------------------------");
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+        }
+
+        return memoryBean.getHeapMemoryUsage().getUsed();
+    }
+
+}
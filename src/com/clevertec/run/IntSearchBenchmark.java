@@ -0,0 +1,76 @@
+package com.clevertec.run;
+
+import com.clevertec.collection.CustomIntArrayList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Single-threaded benchmark of linear search in list of ints.
+ * Compares {@link CustomIntArrayList#indexOfInt(int)} with {@link CustomIntArrayList#indexOf(Object)}
+ * of the same list, which boxes searched value, and with {@link ArrayList#indexOf(Object)} of boxed values.
+ * Searched value is missing from list, so every search scans all elements.
+ * Run with {@code --add-modules jdk.incubator.vector} to measure vector implementation
+ * and without it to measure scalar fallback, see {@link CustomIntArrayList#isVectorized()}.
+ */
+public class IntSearchBenchmark {
+
+    private static final int[] SIZES = {16, 1_000, 100_000};
+
+    private static final long WARMUP_ELEMENTS = 1_000_000_000L;
+
+    private static final long MEASURE_ELEMENTS = 4_000_000_000L;
+
+    /**
+     * Consumes search results so that searches are not eliminated by JIT.
+     */
+    static volatile long sink;
+
+    public static void main(String... args) {
+        System.out.println("Vectorized: " + CustomIntArrayList.isVectorized());
+
+        for (int size : SIZES) {
+            CustomIntArrayList customList = new CustomIntArrayList();
+            List<Integer> arrayList = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                customList.addInt(i);
+                arrayList.add(i);
+            }
+
+            run("java.util.ArrayList<Integer>.indexOf", size, arrayList::indexOf);
+
+            run("CustomIntArrayList.indexOf", size, customList::indexOf);
+
+            run("CustomIntArrayList.indexOfInt", size, customList::indexOfInt);
+
+            run("CustomIntArrayList.countInt", size, value -> customList.countInt(value, 0, size));
+        }
+
+    }
+
+    public static void run(String name, int size, IntUnaryOperator search) {
+        measure(search, size, WARMUP_ELEMENTS / size);
+
+        long searches = MEASURE_ELEMENTS / size;
+        long start = System.nanoTime();
+        measure(search, size, searches);
+        long nanos = System.nanoTime() - start;
+
+        System.out.println(name + ": size = " + size);
+        System.out.println("Searches per second: " + searches * 1_000_000_000L / Math.max(1, nanos));
+        System.out.printf("Nanoseconds per element: %.3f%n", (double) nanos / (searches * size));
+        System.out.println("----------------------------------------");
+    }
+
+    private static void measure(IntUnaryOperator search, int size, long searches) {
+        long sum = 0;
+
+        for (long i = 0; i < searches; i++) {
+            sum += search.applyAsInt(size + (int) (i & 1));
+        }
+
+        sink = sum;
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.clevertec.run;
+
+import com.clevertec.collection.concurrent.ConcurrentCustomArrayList;
+import com.clevertec.collection.concurrent.StripedCustomArrayList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+/**
+ * Multithreaded append benchmark of lists collecting order-insensitive samples.
+ * Every thread appends the same number of elements to new list, list is discarded after each round.
+ * Compares throughput of {@link StripedCustomArrayList} with {@link ConcurrentCustomArrayList}
+ * and synchronized {@link ArrayList} at several numbers of threads.
+ */
+public class StripedBenchmark {
+
+    private static final int[] THREADS = {1, 4, 16};
+
+    private static final int ELEMENTS_PER_ROUND = 4_000_000;
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final int MEASURE_ROUNDS = 10;
+
+    public static void main(String... args) throws InterruptedException {
+
+        for (int threads : THREADS) {
+            run("Collections.synchronizedList(ArrayList)", threads,
+                    () -> Collections.synchronizedList(new ArrayList<>()));
+
+            run("ConcurrentCustomArrayList", threads, ConcurrentCustomArrayList::new);
+
+            run("StripedCustomArrayList", threads, StripedCustomArrayList::new);
+        }
+
+    }
+
+    public static void run(String name, int threads, Supplier<List<Integer>> listFactory) throws InterruptedException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            measure(listFactory.get(), threads);
+        }
+
+        long nanos = 0;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            nanos += measure(listFactory.get(), threads);
+        }
+
+        System.out.println(name + ": threads = " + threads);
+        System.out.println("Adds per second: " + (long) ELEMENTS_PER_ROUND * MEASURE_ROUNDS * 1_000_000_000L / nanos);
+        System.out.println("----------------------------------------");
+    }
+
+    private static long measure(List<Integer> list, int threads) throws InterruptedException {
+        int elementsPerThread = ELEMENTS_PER_ROUND / threads;
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(threads);
+
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                awaitUninterruptibly(started);
+                for (int element = 0; element < elementsPerThread; element++) {
+                    list.add(element & 127);
+                }
+                finished.countDown();
+            }, "Writer-" + i).start();
+        }
+
+        long start = System.nanoTime();
+        started.countDown();
+        finished.await();
+        long nanos = System.nanoTime() - start;
+
+        if (list.size() != elementsPerThread * threads) {
+            throw new IllegalStateException("Lost elements: " + list.size());
+        }
+
+        return nanos;
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
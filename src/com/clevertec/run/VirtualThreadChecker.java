@@ -0,0 +1,186 @@
+package com.clevertec.run;
+
+import com.clevertec.collection.concurrent.ConcurrentCustomArrayList;
+import com.clevertec.collection.concurrent.ConcurrentCustomLinkedList;
+import com.clevertec.collection.concurrent.LockingMode;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stress harness running concurrent custom lists under 100K virtual threads of readers and writers.
+ * Reports throughput and number of {@code jdk.VirtualThreadPinned} events recorded by Flight Recorder.
+ * Falls back to pool of platform threads if running JDK has no virtual threads,
+ * in which case pinning is not recorded and reported as {@code n/a}.
+ */
+public class VirtualThreadChecker {
+
+    private static final int THREADS = 100_000;
+
+    private static final int WRITERS_EVERY_NTH_THREAD = 5;
+
+    private static final int OPERATIONS_PER_THREAD = 10;
+
+    private static final int INITIAL_ELEMENTS = 1_000;
+
+    private static final int MILLIS_TO_FLUSH_RECORDING = 2000; // im millis
+
+    private static final String PINNED_EVENT_NAME = "jdk.VirtualThreadPinned";
+
+    private static final boolean VIRTUAL_THREADS_SUPPORTED = isVirtualThreadsSupported();
+
+    public static void main(String... args) {
+
+        if (!VIRTUAL_THREADS_SUPPORTED) {
+            System.out.println("Virtual threads are not supported by running JDK, platform threads are used");
+        }
+
+        for (LockingMode lockingMode : LockingMode.values()) {
+
+            stress("ConcurrentCustomArrayList (" + lockingMode + ")", new ConcurrentCustomArrayList<>(lockingMode));
+
+            stress("ConcurrentCustomLinkedList (" + lockingMode + ")", new ConcurrentCustomLinkedList<>(lockingMode));
+
+        }
+
+    }
+
+    public static void stress(String name, List<Integer> list) {
+        for (int i = 0; i < INITIAL_ELEMENTS; i++) {
+            list.add(i);
+        }
+
+        LongAdder operations = new LongAdder();
+        LongAdder pinnedEvents = new LongAdder();
+
+        RecordingStream recording = null;
+        if (VIRTUAL_THREADS_SUPPORTED) {
+            recording = new RecordingStream();
+            recording.enable(PINNED_EVENT_NAME).withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent(PINNED_EVENT_NAME, event -> pinnedEvents.increment());
+            recording.startAsync();
+        }
+
+        try {
+            ExecutorService executor = newVirtualThreadExecutor();
+            long start = System.nanoTime();
+
+            for (int i = 0; i < THREADS; i++) {
+                executor.execute(i % WRITERS_EVERY_NTH_THREAD == 0
+                        ? new Writer(list, operations)
+                        : new Reader(list, operations));
+            }
+
+            executor.shutdown();
+            long elapsedNanos;
+
+            try {
+
+                executor.awaitTermination(1, TimeUnit.HOURS);
+                elapsedNanos = System.nanoTime() - start;
+
+                if (recording != null) {
+                    Thread.sleep(MILLIS_TO_FLUSH_RECORDING);
+                }
+
+            } catch (InterruptedException ex) {
+                ex.printStackTrace();
+                return;
+            }
+
+            System.out.println(name + ": threads = " + THREADS);
+            System.out.println("Operations per second: " + operations.sum() * 1_000_000_000L / elapsedNanos);
+            System.out.println("Pinned events: " + (recording != null ? String.valueOf(pinnedEvents.sum()) : "n/a"));
+            System.out.println("----------------------------------------");
+        } finally {
+            if (recording != null) {
+                recording.close();
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if running JDK supports virtual threads.
+     */
+    private static boolean isVirtualThreadsSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns executor starting new virtual thread for each task,
+     * or fixed pool of platform threads if virtual threads are not supported.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        if (VIRTUAL_THREADS_SUPPORTED) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException("Virtual thread executor can not be created", ex);
+            }
+        }
+
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * Appends new element and removes it by value, that scans list while holding write lock.
+     */
+    static class Writer implements Runnable {
+
+        private final List<Integer> list;
+
+        private final LongAdder operations;
+
+        Writer(List<Integer> list, LongAdder operations) {
+            this.list = list;
+            this.operations = operations;
+        }
+
+        public void run() {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                Integer element = ThreadLocalRandom.current().nextInt();
+                list.add(element);
+                list.remove(element);
+                operations.add(2);
+            }
+        }
+    }
+
+    /**
+     * Reads elements at random positions.
+     */
+    static class Reader implements Runnable {
+
+        private final List<Integer> list;
+
+        private final LongAdder operations;
+
+        Reader(List<Integer> list, LongAdder operations) {
+            this.list = list;
+            this.operations = operations;
+        }
+
+        public void run() {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                try {
+                    list.get(ThreadLocalRandom.current().nextInt(INITIAL_ELEMENTS));
+                } catch (IndexOutOfBoundsException ex) {
+                    // list shrank concurrently
+                }
+                operations.increment();
+            }
+        }
+    }
+
+}